@@ -0,0 +1,197 @@
+package com.bookhub.bookhub.benchmark;
+
+import com.bookhub.bookhub.BookhubApplication;
+import com.bookhub.bookhub.entity.Book;
+import com.bookhub.bookhub.entity.Loan;
+import com.bookhub.bookhub.entity.User;
+import com.bookhub.bookhub.repository.BookRepository;
+import com.bookhub.bookhub.repository.LoanRepository;
+import com.bookhub.bookhub.repository.UserRepository;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes 100k books or 100k loans through JPA with and without JDBC batching, and 100k books through
+ * {@link IdentityBook}, the same table mapped with the IDENTITY ids the entities used before, which
+ * Hibernate never batches. Runs against the database in -Dbenchmark.datasource.url (default
+ * bookhub_benchmark), which is truncated between iterations, so never point it at real data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class BulkWriteBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private LoanRepository loanRepository;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(BookhubApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                                "jdbc:postgresql://localhost:5432/bookhub_benchmark"),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--jwt.secret=benchmark-secret-key-with-at-least-256-bits!!"
+                );
+
+        bookRepository = context.getBean(BookRepository.class);
+        loanRepository = context.getBean(LoanRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("ALTER TABLE book ALTER COLUMN id SET DEFAULT nextval('book_seq')");
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE loan, book, users");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        jdbcTemplate.execute("ALTER TABLE book ALTER COLUMN id DROP DEFAULT");
+        context.close();
+    }
+
+    @Benchmark
+    public void importBooks() {
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            int start = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Book> books = new ArrayList<>(CHUNK);
+                for (int i = start; i < start + CHUNK; i++) {
+                    books.add(newBook(i));
+                }
+                bookRepository.saveAll(books);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Benchmark
+    public void importBooksWithIdentity() {
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            int start = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < start + CHUNK; i++) {
+                    entityManager.persist(new IdentityBook(newBook(i)));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Benchmark
+    public void createLoans() {
+        Long[] ids = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setName("Benchmark Reader");
+            user.setEmail("reader-" + System.nanoTime() + "@bookhub.com");
+            user.setPassword("password");
+            user.setRole(User.Role.READER);
+            return new Long[]{userRepository.save(user).getId(), bookRepository.save(newBook(-1)).getId()};
+        });
+
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            transactionTemplate.executeWithoutResult(status -> {
+                User user = userRepository.getReferenceById(ids[0]);
+                Book book = bookRepository.getReferenceById(ids[1]);
+                List<Loan> loans = new ArrayList<>(CHUNK);
+                for (int i = 0; i < CHUNK; i++) {
+                    loans.add(Loan.createLoan(user, book, 14));
+                }
+                loanRepository.saveAll(loans);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private Book newBook(int index) {
+        Book book = new Book();
+        book.setTitle("Benchmark Book " + index);
+        book.setAuthor("Benchmark Author");
+        book.setIsbn(String.valueOf(9_780_000_000_000L + index + 1));
+        book.setPublicationYear(2024);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(1);
+        return book;
+    }
+
+    // The id default that IDENTITY relies on is added to book for the trial and dropped afterwards.
+    @Entity(name = "IdentityBook")
+    @Table(name = "book")
+    public static class IdentityBook {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(nullable = false)
+        private String title;
+
+        @Column(nullable = false)
+        private String author;
+
+        private String isbn;
+        private Integer publicationYear;
+        private Integer totalCopies;
+        private Integer availableCopies;
+
+        protected IdentityBook() {
+        }
+
+        IdentityBook(Book book) {
+            title = book.getTitle();
+            author = book.getAuthor();
+            isbn = book.getIsbn();
+            publicationYear = book.getPublicationYear();
+            totalCopies = book.getTotalCopies();
+            availableCopies = book.getAvailableCopies();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.bookhub.bookhub.benchmark;
+
+import com.bookhub.bookhub.BookhubApplication;
+import com.bookhub.bookhub.dto.book.response.BookResponse;
+import com.bookhub.bookhub.dto.loan.request.LoanCreateRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanResponse;
+import com.bookhub.bookhub.service.BookService;
+import com.bookhub.bookhub.service.LoanService;
+import com.bookhub.bookhub.service.availability.BookAvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loan checkout and catalog search latency with the default datasource settings and with the prod profile
+ * (sized Hikari pool, pgjdbc statement cache and batched insert rewriting). Like {@link BulkWriteBenchmark}
+ * it runs against -Dbenchmark.datasource.url, which is truncated and reseeded for every trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DataSourceTuningBenchmark {
+    private static final String[] KEYWORDS = {"java", "history", "garcia", "clean code", "machado", "spring"};
+    private static final int READERS = 20_000;
+    private static final int BOOKS = 2_000;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private LoanService loanService;
+    private BookService bookService;
+    private JdbcTemplate jdbcTemplate;
+    private final AtomicLong nextReader = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BookhubApplication.class)
+                .web(WebApplicationType.NONE);
+        if (!"default".equals(profile)) {
+            builder.profiles(profile);
+        }
+        context = builder.run(
+                "--spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                        "jdbc:postgresql://localhost:5432/bookhub_benchmark"),
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=benchmark-secret-key-with-at-least-256-bits!!"
+        );
+
+        loanService = context.getBean(LoanService.class);
+        bookService = context.getBean(BookService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed();
+        context.getBean(BookAvailabilityService.class).resync();
+    }
+
+    @TearDown(Level.Iteration)
+    public void returnAllLoans() {
+        jdbcTemplate.update("UPDATE loan SET status = 'RETURNED', return_date = current_date WHERE status = 'ACTIVE'");
+        jdbcTemplate.update("UPDATE book SET available_copies = total_copies");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        jdbcTemplate.execute("TRUNCATE loan, book, users");
+        context.close();
+    }
+
+    @Benchmark
+    public LoanResponse createLoan() {
+        LoanCreateRequest request = new LoanCreateRequest();
+        request.setUserId(1 + nextReader.getAndIncrement() % READERS);
+        request.setBookId(1 + (long) ThreadLocalRandom.current().nextInt(BOOKS));
+        return loanService.createLoan(request);
+    }
+
+    @Benchmark
+    public List<BookResponse> searchBooks() {
+        return bookService.searchBooks(KEYWORDS[ThreadLocalRandom.current().nextInt(KEYWORDS.length)], 0, 20);
+    }
+
+    private void seed() {
+        jdbcTemplate.execute("TRUNCATE loan, book, users");
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, email, password, role)
+                SELECT g, 'Reader ' || g, 'reader-' || g || '@bookhub.test', 'password', 'READER'
+                FROM generate_series(1, ?) g
+                """, READERS);
+        jdbcTemplate.update("""
+                INSERT INTO book (id, title, author, isbn, publication_year, total_copies, available_copies)
+                SELECT g, (ARRAY['Java', 'History', 'Garcia', 'Clean Code', 'Machado', 'Spring'])[1 + g % 6]
+                              || ' Volume ' || g,
+                       'Author ' || (g % 500), (9780000000000 + g)::text, 1950 + g % 75, 1000000, 1000000
+                FROM generate_series(1, ?) g
+                """, BOOKS);
+        jdbcTemplate.execute("SELECT setval('users_seq', " + READERS + ")");
+        jdbcTemplate.execute("SELECT setval('book_seq', " + BOOKS + ")");
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookhub.bookhub.benchmark;
+
+import com.bookhub.bookhub.entity.Book;
+import com.bookhub.bookhub.entity.User;
+import com.bookhub.bookhub.factory.BookFactory;
+import com.bookhub.bookhub.factory.UserFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Entity factories on the create paths. The ISBN pair isolates the cost of
+ * {@code String.replaceAll} recompiling its pattern on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FactoryBenchmark {
+    private static final Pattern NON_ISBN_CHARS = Pattern.compile("[^\\dX]");
+    private static final String ISBN = "978-0-13-468599-1";
+
+    private final BookFactory bookFactory = new BookFactory();
+    private final UserFactory userFactory = new UserFactory();
+
+    @Benchmark
+    public Book createBook() {
+        return bookFactory.createBook("  Effective Java ", " Joshua Bloch ", ISBN, 2018);
+    }
+
+    @Benchmark
+    public String isbnReplaceAll() {
+        return ISBN.replaceAll("[^\\dX]", "");
+    }
+
+    @Benchmark
+    public String isbnPrecompiledPattern() {
+        return NON_ISBN_CHARS.matcher(ISBN).replaceAll("");
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userFactory.createUser(" Ada Lovelace ", " Ada.Lovelace@BookHub.com ", "password", User.Role.READER);
+    }
+}
@@ -0,0 +1,99 @@
+package com.bookhub.bookhub.benchmark;
+
+import com.bookhub.bookhub.config.JwtConfig;
+import com.bookhub.bookhub.service.JwtService;
+import com.bookhub.bookhub.service.security.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits!!";
+
+    private JwtService jwtService;
+    private SecretKey secretKey;
+    private UserDetails userDetails;
+    private String token;
+    private AuthenticatedUser authenticatedUser;
+    private String claimsToken;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtConfig, "jwtExpiration", 3_600_000L);
+
+        secretKey = jwtConfig.secretKey();
+        jwtService = new JwtService(jwtConfig, secretKey);
+        userDetails = User.withUsername("reader@bookhub.com")
+                .password("password")
+                .roles("READER")
+                .build();
+        token = jwtService.generateToken(userDetails);
+        authenticatedUser = new AuthenticatedUser(42L, "Benchmark Reader", "reader@bookhub.com",
+                com.bookhub.bookhub.entity.User.Role.READER, "password");
+        claimsToken = jwtService.generateToken(authenticatedUser);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyThreeParseValidation() {
+        String username = parseWithNewParser(token).getSubject();
+        boolean matches = parseWithNewParser(token).getSubject().equals(username);
+        return matches && !parseWithNewParser(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public JwtService.TokenClaims validateAndExtract() {
+        return jwtService.validateAndExtract(token);
+    }
+
+    @Benchmark
+    public String createTokenWithUserClaims() {
+        return jwtService.generateToken(authenticatedUser);
+    }
+
+    @Benchmark
+    public UserDetails principalFromClaims() {
+        return jwtService.validateAndExtract(claimsToken).toAuthenticatedUser();
+    }
+
+    private Claims parseWithNewParser(String jwt) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
@@ -0,0 +1,140 @@
+package com.bookhub.bookhub.benchmark;
+
+import com.bookhub.bookhub.BookhubApplication;
+import com.bookhub.bookhub.entity.Book;
+import com.bookhub.bookhub.entity.Loan;
+import com.bookhub.bookhub.entity.User;
+import com.bookhub.bookhub.repository.BookRepository;
+import com.bookhub.bookhub.repository.LoanRepository;
+import com.bookhub.bookhub.repository.UserRepository;
+import com.bookhub.bookhub.service.validation.LoanValidationService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrow checks for a reader whose returned-loan history grows from a handful
+ * of rows to 100k. Runs against -Dbenchmark.datasource.url like
+ * {@link BulkWriteBenchmark}, and truncates it when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoanValidationBenchmark {
+    private static final int CHUNK = 1_000;
+
+    @Param({"10", "10000", "100000"})
+    private int historySize;
+
+    private ConfigurableApplicationContext context;
+    private LoanValidationService loanValidationService;
+    private JdbcTemplate jdbcTemplate;
+    private User reader;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(BookhubApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                                "jdbc:postgresql://localhost:5432/bookhub_benchmark"),
+                        "--spring.jpa.show-sql=false",
+                        "--jwt.secret=benchmark-secret-key-with-at-least-256-bits!!"
+                );
+
+        loanValidationService = context.getBean(LoanValidationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        reader = seedHistory(
+                context.getBean(UserRepository.class),
+                context.getBean(BookRepository.class),
+                context.getBean(LoanRepository.class),
+                context.getBean(EntityManager.class),
+                context.getBean(TransactionTemplate.class)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        jdbcTemplate.execute("TRUNCATE loan, book, users");
+        context.close();
+    }
+
+    @Benchmark
+    public int validateUserCanBorrow() {
+        return loanValidationService.validateUserCanBorrow(reader);
+    }
+
+    private User seedHistory(UserRepository userRepository, BookRepository bookRepository,
+                             LoanRepository loanRepository, EntityManager entityManager,
+                             TransactionTemplate transactionTemplate) {
+        Object[] seeded = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setName("Benchmark Reader");
+            user.setEmail("reader-" + System.nanoTime() + "@bookhub.com");
+            user.setPassword("password");
+            user.setRole(User.Role.READER);
+
+            Book book = new Book();
+            book.setTitle("Benchmark Book");
+            book.setAuthor("Benchmark Author");
+            book.setIsbn(String.valueOf(9_780_000_000_000L + historySize));
+            book.setPublicationYear(2024);
+            book.setTotalCopies(historySize + 2);
+            book.setAvailableCopies(historySize + 2);
+
+            return new Object[]{userRepository.save(user), bookRepository.save(book).getId()};
+        });
+        User user = (User) seeded[0];
+        Long bookId = (Long) seeded[1];
+
+        for (int offset = 0; offset < historySize + 2; offset += CHUNK) {
+            int start = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                User managedUser = userRepository.getReferenceById(user.getId());
+                Book book = bookRepository.getReferenceById(bookId);
+                List<Loan> loans = new ArrayList<>(CHUNK);
+
+                for (int i = start; i < Math.min(start + CHUNK, historySize + 2); i++) {
+                    Loan loan = Loan.createLoan(managedUser, book, 14);
+                    if (i < historySize) {
+                        loan.setLoanDate(LocalDate.now().minusDays(30));
+                        loan.setDueDate(LocalDate.now().minusDays(16));
+                        loan.setReturnDate(LocalDate.now().minusDays(20));
+                        loan.setStatus(Loan.LoanStatus.RETURNED);
+                    }
+                    loans.add(loan);
+                }
+
+                loanRepository.saveAll(loans);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        return user;
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookhub.bookhub.benchmark;
+
+import com.bookhub.bookhub.dto.book.response.BookResponse;
+import com.bookhub.bookhub.dto.loan.response.LoanResponse;
+import com.bookhub.bookhub.entity.Book;
+import com.bookhub.bookhub.entity.Loan;
+import com.bookhub.bookhub.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResponseMappingBenchmark {
+    @Param({"20", "1000", "10000"})
+    private int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private List<Book> books;
+    private Loan loan;
+    private List<BookResponse> bookResponses;
+
+    @Setup
+    public void setUp() {
+        books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Book book = new Book();
+            book.setId((long) i + 1);
+            book.setTitle("Benchmark Book " + i);
+            book.setAuthor("Benchmark Author " + (i % 97));
+            book.setIsbn(String.valueOf(9_780_000_000_000L + i));
+            book.setPublicationYear(1950 + i % 75);
+            book.setTotalCopies(3);
+            book.setAvailableCopies(i % 4);
+            books.add(book);
+        }
+
+        User user = new User();
+        user.setId(1L);
+        user.setName("Benchmark Reader");
+        user.setEmail("reader@bookhub.com");
+        user.setRole(User.Role.READER);
+
+        loan = Loan.createLoan(user, books.getFirst(), 14);
+        loan.setId(1L);
+
+        bookResponses = mapBooks();
+    }
+
+    @Benchmark
+    public BookResponse bookResponse() {
+        return new BookResponse(books.getFirst());
+    }
+
+    @Benchmark
+    public LoanResponse loanResponse() {
+        return new LoanResponse(loan);
+    }
+
+    @Benchmark
+    public List<BookResponse> mapBooks() {
+        List<BookResponse> responses = new ArrayList<>(books.size());
+        for (Book book : books) {
+            responses.add(new BookResponse(book));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public byte[] serializeBooks() {
+        return jsonMapper.writeValueAsBytes(bookResponses);
+    }
+}
@@ -0,0 +1,146 @@
+package com.bookhub.bookhub.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator for the catalog read endpoints. Each of -Dloadtest.clients virtual threads
+ * sends requests back to back for -Dloadtest.duration against an already running instance, so running it
+ * once against the default profile and once against the {@code virtual} profile compares Tomcat's
+ * platform-thread pool with virtual threads under the same load.
+ */
+public class CatalogLoadTest {
+    private static final String[] KEYWORDS = {"java", "history", "garcia", "clean code", "machado", "spring"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+        int clients = Integer.getInteger("loadtest.clients", 2000);
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "60s").toUpperCase());
+        String label = System.getProperty("loadtest.label", "default");
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest-" + label + ".json"));
+
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        String token = obtainToken(httpClient, jsonMapper, baseUrl);
+
+        List<Worker> workers = new ArrayList<>(clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (int i = 0; i < clients; i++) {
+            Worker worker = new Worker(httpClient, baseUrl, token, deadline);
+            workers.add(worker);
+            executor.submit(worker);
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(duration.toSeconds() + REQUEST_TIMEOUT.toSeconds() + 30, TimeUnit.SECONDS);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("clients", clients);
+        report.put("durationSeconds", duration.toSeconds());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /api/books", summarize(workers, 0, duration));
+        endpoints.put("GET /api/books/search", summarize(workers, 1, duration));
+        report.put("endpoints", endpoints);
+
+        String json = jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, json);
+        System.out.println(json);
+    }
+
+    private static String obtainToken(HttpClient httpClient, JsonMapper jsonMapper, String baseUrl) throws Exception {
+        String email = "loadtest-" + UUID.randomUUID() + "@bookhub.test";
+        String password = "loadtest-password";
+
+        send(httpClient, jsonMapper, baseUrl + "/api/users/register",
+                Map.of("name", "Load Test", "email", email, "password", password));
+        HttpResponse<String> login = send(httpClient, jsonMapper, baseUrl + "/api/auth/login",
+                Map.of("email", email, "password", password));
+
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + login.statusCode() + ": " + login.body());
+        }
+
+        JsonNode body = jsonMapper.readTree(login.body());
+        return body.get("token").asString();
+    }
+
+    private static HttpResponse<String> send(HttpClient httpClient, JsonMapper jsonMapper, String url, Object body)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Map<String, Object> summarize(List<Worker> workers, int endpoint, Duration duration) {
+        return EndpointStats.summarize(workers.stream().map(worker -> worker.stats[endpoint]).toList(), duration);
+    }
+
+    private static final class Worker implements Runnable {
+        private final HttpClient httpClient;
+        private final String baseUrl;
+        private final String token;
+        private final long deadline;
+        private final EndpointStats[] stats = {new EndpointStats(), new EndpointStats()};
+
+        private Worker(HttpClient httpClient, String baseUrl, String token, long deadline) {
+            this.httpClient = httpClient;
+            this.baseUrl = baseUrl;
+            this.token = token;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            while (System.nanoTime() < deadline) {
+                int endpoint = random.nextInt(2);
+                String path = endpoint == 0
+                        ? "/api/books?size=20"
+                        : "/api/books/search?keyword=" + KEYWORDS[random.nextInt(KEYWORDS.length)].replace(" ", "%20");
+
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(REQUEST_TIMEOUT)
+                        .GET()
+                        .build();
+
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    status = EndpointStats.TRANSPORT_FAILURE;
+                }
+                stats[endpoint].record(System.nanoTime() - start, status);
+            }
+        }
+    }
+}
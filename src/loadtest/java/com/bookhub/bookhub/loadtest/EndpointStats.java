@@ -0,0 +1,75 @@
+package com.bookhub.bookhub.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latencies and outcomes of one endpoint as seen by one worker. Workers record without synchronization
+ * and the stats are only merged once every worker has stopped.
+ */
+final class EndpointStats {
+    static final int TRANSPORT_FAILURE = -1;
+
+    private long[] latencies = new long[256];
+    private int size;
+    private int errors;
+    private int rejected;
+
+    void record(long latencyNanos, int status) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+
+        if (status == TRANSPORT_FAILURE || status >= 500) {
+            errors++;
+        } else if (status >= 400) {
+            rejected++;
+        }
+    }
+
+    static Map<String, Object> summarize(List<EndpointStats> stats, Duration duration) {
+        int total = 0;
+        int errors = 0;
+        int rejected = 0;
+        for (EndpointStats stat : stats) {
+            total += stat.size;
+            errors += stat.errors;
+            rejected += stat.rejected;
+        }
+
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (EndpointStats stat : stats) {
+            System.arraycopy(stat.latencies, 0, latencies, offset, stat.size);
+            offset += stat.size;
+        }
+        Arrays.sort(latencies);
+
+        double seconds = Math.max(duration.toMillis(), 1) / 1000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", total);
+        summary.put("errors", errors);
+        summary.put("rejected", rejected);
+        summary.put("errorRate", total == 0 ? 0.0 : (double) errors / total);
+        summary.put("rejectedRate", total == 0 ? 0.0 : (double) rejected / total);
+        summary.put("throughputPerSecond", total / seconds);
+        summary.put("successfulPerSecond", (total - errors - rejected) / seconds);
+        summary.put("p50Millis", percentileMillis(latencies, 0.50));
+        summary.put("p99Millis", percentileMillis(latencies, 0.99));
+        summary.put("p999Millis", percentileMillis(latencies, 0.999));
+        summary.put("maxMillis", latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1_000_000.0);
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,325 @@
+package com.bookhub.bookhub.loadtest;
+
+import com.bookhub.bookhub.BookhubApplication;
+import com.bookhub.bookhub.service.availability.BookAvailabilityService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained circulation load test. Starts an embedded PostgreSQL, boots the application on a random
+ * port against it, seeds -Dloadtest.seed.* readers, books and returned loans, and then runs
+ * -Dloadtest.clients closed-loop librarian sessions mixing logins, catalog searches, availability checks and
+ * loan create/return/extend calls. Business rejections (4xx) are reported apart from errors (5xx and
+ * transport failures).
+ */
+public class LoanLoadTest {
+    private static final String[] KEYWORDS = {"java", "history", "garcia", "clean code", "machado", "spring"};
+    private static final String PASSWORD = "loadtest-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_OPEN_LOANS_PER_CLIENT = 20;
+
+    private static final int LOGIN = 0;
+    private static final int SEARCH = 1;
+    private static final int AVAILABLE = 2;
+    private static final int CREATE_LOAN = 3;
+    private static final int RETURN_LOAN = 4;
+    private static final int EXTEND_LOAN = 5;
+    private static final String[] ENDPOINTS = {
+            "POST /api/auth/login",
+            "GET /api/books/search",
+            "GET /api/books/{id}/available",
+            "POST /api/loans",
+            "PATCH /api/loans/{id}/return",
+            "PATCH /api/loans/{id}/extend"
+    };
+    private static final int[] WEIGHTS = {5, 30, 30, 15, 12, 8};
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 200);
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "60s").toUpperCase());
+        String label = System.getProperty("loadtest.label", "default");
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest-" + label + ".json"));
+        Seed seed = new Seed(
+                Integer.getInteger("loadtest.seed.users", 10_000),
+                Integer.getInteger("loadtest.seed.books", 5_000),
+                Integer.getInteger("loadtest.seed.loans", 50_000),
+                clients
+        );
+
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = startApplication(postgres)) {
+            seed.insert(context.getBean(JdbcTemplate.class));
+            context.getBean(BookAvailabilityService.class).resync();
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            List<Worker> workers = new ArrayList<>(clients);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            long startedAt = System.nanoTime();
+            long deadline = startedAt + duration.toNanos();
+            for (int i = 0; i < clients; i++) {
+                Worker worker = new Worker(httpClient, jsonMapper, baseUrl, seed, seed.librarianEmail(i), deadline);
+                workers.add(worker);
+                executor.submit(worker);
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + REQUEST_TIMEOUT.toSeconds() + 30, TimeUnit.SECONDS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            List<EndpointStats> all = new ArrayList<>();
+            for (int endpoint = 0; endpoint < ENDPOINTS.length; endpoint++) {
+                int index = endpoint;
+                List<EndpointStats> stats = workers.stream().map(worker -> worker.stats[index]).toList();
+                endpoints.put(ENDPOINTS[endpoint], EndpointStats.summarize(stats, elapsed));
+                all.addAll(stats);
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("label", label);
+            report.put("clients", clients);
+            report.put("durationSeconds", duration.toSeconds());
+            report.put("seed", Map.of("users", seed.users, "books", seed.books, "loans", seed.loans));
+            report.put("total", EndpointStats.summarize(all, elapsed));
+            report.put("endpoints", endpoints);
+
+            String json = jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Files.writeString(output, json);
+            System.out.println(json);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BookhubApplication.class);
+
+        String profiles = System.getProperty("loadtest.spring-profiles", "");
+        if (!profiles.isBlank()) {
+            builder.profiles(profiles.split(","));
+        }
+
+        return builder.run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--jwt.secret=loadtest-secret-key-with-at-least-256-bits!!",
+                "--google.books.api-key=loadtest"
+        );
+    }
+
+    /**
+     * Readers get IDs 1..users and librarians the IDs right after them, so workers can pick borrowers and
+     * books by ID without reading them back. Every account shares one BCrypt hash.
+     */
+    private record Seed(int users, int books, int loans, int librarians) {
+
+        void insert(JdbcTemplate jdbcTemplate) {
+            String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+            jdbcTemplate.update("""
+                    INSERT INTO users (id, name, email, password, role)
+                    SELECT g, 'Reader ' || g, 'reader-' || g || '@bookhub.test', ?, 'READER'
+                    FROM generate_series(1, ?) g
+                    """, passwordHash, users);
+            jdbcTemplate.update("""
+                    INSERT INTO users (id, name, email, password, role)
+                    SELECT ? + g, 'Librarian ' || g, 'librarian-' || g || '@bookhub.test', ?, 'LIBRARIAN'
+                    FROM generate_series(1, ?) g
+                    """, users, passwordHash, librarians);
+            jdbcTemplate.update("""
+                    INSERT INTO book (id, title, author, isbn, publication_year, total_copies, available_copies)
+                    SELECT g, (ARRAY['Java', 'History', 'Garcia', 'Clean Code', 'Machado', 'Spring'])[1 + g % 6]
+                                  || ' Volume ' || g,
+                           'Author ' || (g % 500), (9780000000000 + g)::text, 1950 + g % 75, 10, 10
+                    FROM generate_series(1, ?) g
+                    """, books);
+            jdbcTemplate.update("""
+                    INSERT INTO loan (id, user_id, book_id, loan_date, due_date, return_date, status, renewal_count)
+                    SELECT g, 1 + g % ?, 1 + g % ?, current_date - 30, current_date - 16, current_date - 20,
+                           'RETURNED', 0
+                    FROM generate_series(1, ?) g
+                    """, users, books, loans);
+
+            jdbcTemplate.execute("SELECT setval('users_seq', " + (users + librarians) + ")");
+            jdbcTemplate.execute("SELECT setval('book_seq', " + books + ")");
+            jdbcTemplate.execute("SELECT setval('loan_seq', " + Math.max(loans, 1) + ")");
+        }
+
+        String librarianEmail(int index) {
+            return "librarian-" + (index + 1) + "@bookhub.test";
+        }
+    }
+
+    private static final class Worker implements Runnable {
+        private final HttpClient httpClient;
+        private final JsonMapper jsonMapper;
+        private final String baseUrl;
+        private final Seed seed;
+        private final String email;
+        private final long deadline;
+        private final EndpointStats[] stats = new EndpointStats[ENDPOINTS.length];
+        private final List<Long> openLoans = new ArrayList<>();
+        private String token;
+
+        private Worker(HttpClient httpClient, JsonMapper jsonMapper, String baseUrl, Seed seed, String email,
+                       long deadline) {
+            this.httpClient = httpClient;
+            this.jsonMapper = jsonMapper;
+            this.baseUrl = baseUrl;
+            this.seed = seed;
+            this.email = email;
+            this.deadline = deadline;
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = new EndpointStats();
+            }
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            while (token == null && System.nanoTime() < deadline) {
+                login();
+                if (token == null) {
+                    pause(random);
+                }
+            }
+
+            while (System.nanoTime() < deadline) {
+                switch (pickOperation(random)) {
+                    case LOGIN -> login();
+                    case SEARCH -> send(SEARCH, get("/api/books/search?keyword="
+                            + KEYWORDS[random.nextInt(KEYWORDS.length)].replace(" ", "%20")));
+                    case AVAILABLE -> send(AVAILABLE, get("/api/books/" + randomBook(random) + "/available"));
+                    case CREATE_LOAN -> createLoan(random);
+                    case RETURN_LOAN -> returnLoan(random);
+                    case EXTEND_LOAN -> send(EXTEND_LOAN, patch("/api/loans/"
+                            + openLoans.get(random.nextInt(openLoans.size())) + "/extend?additionalDays=7"));
+                    default -> throw new IllegalStateException("Unknown operation");
+                }
+            }
+        }
+
+        private int pickOperation(ThreadLocalRandom random) {
+            int roll = random.nextInt(100);
+            int operation = 0;
+            while (roll >= WEIGHTS[operation]) {
+                roll -= WEIGHTS[operation++];
+            }
+
+            if ((operation == RETURN_LOAN || operation == EXTEND_LOAN) && openLoans.isEmpty()) {
+                return CREATE_LOAN;
+            }
+            if (operation == CREATE_LOAN && openLoans.size() >= MAX_OPEN_LOANS_PER_CLIENT) {
+                return RETURN_LOAN;
+            }
+            return operation;
+        }
+
+        private void login() {
+            HttpResponse<String> response = send(LOGIN, post("/api/auth/login",
+                    Map.of("email", email, "password", PASSWORD)));
+            if (response != null && response.statusCode() == 200) {
+                token = jsonMapper.readTree(response.body()).get("token").asString();
+            }
+        }
+
+        private void createLoan(ThreadLocalRandom random) {
+            HttpResponse<String> response = send(CREATE_LOAN, post("/api/loans", Map.of(
+                    "userId", 1 + random.nextInt(seed.users),
+                    "bookId", randomBook(random),
+                    "loanDays", 14
+            )));
+            if (response != null && response.statusCode() == 201) {
+                openLoans.add(jsonMapper.readTree(response.body()).get("id").asLong());
+            }
+        }
+
+        private void returnLoan(ThreadLocalRandom random) {
+            Long loanId = openLoans.remove(random.nextInt(openLoans.size()));
+            send(RETURN_LOAN, patch("/api/loans/" + loanId + "/return"));
+        }
+
+        private long randomBook(ThreadLocalRandom random) {
+            return 1 + random.nextInt(seed.books);
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return request(path).GET();
+        }
+
+        private HttpRequest.Builder patch(String path) {
+            return request(path).method("PATCH", HttpRequest.BodyPublishers.noBody());
+        }
+
+        private HttpRequest.Builder post(String path, Object body) {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(int endpoint, HttpRequest.Builder request) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = null;
+            int status;
+            try {
+                response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = EndpointStats.TRANSPORT_FAILURE;
+            } catch (Exception e) {
+                status = EndpointStats.TRANSPORT_FAILURE;
+            }
+            stats[endpoint].record(System.nanoTime() - start, status);
+            return response;
+        }
+
+        private static void pause(ThreadLocalRandom random) {
+            try {
+                Thread.sleep(50 + random.nextInt(200));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.bookhub.bookhub.aspect;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+    private final Meter.MeterProvider<Timer> serviceTimer;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.serviceTimer = Timer.builder("service.method")
+                .description("Latency of service calls, including their transaction commit")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    @Around("execution(public * com.bookhub.bookhub.service.impl..*(..))"
+            + " || execution(public * com.bookhub.bookhub.service.external..*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        String exception = "none";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            serviceTimer.withTags(
+                    "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    "method", joinPoint.getSignature().getName(),
+                    "outcome", outcome,
+                    "exception", exception
+            ).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
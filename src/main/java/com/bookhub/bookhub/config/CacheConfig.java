@@ -0,0 +1,43 @@
+package com.bookhub.bookhub.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String BOOKS = "books";
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+
+    @Value("${cache.entities.maximum-size}")
+    private long maximumSize;
+
+    @Value("${cache.entities.ttl}")
+    private Duration ttl;
+
+    // Evictions issued inside a transaction are deferred until it commits, so a reader that
+    // misses afterwards loads the committed row rather than the one being replaced.
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(BOOKS, BOOKS_BY_ISBN, USERS, USERS_BY_EMAIL));
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,38 @@
+package com.bookhub.bookhub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Slf4j
+@Configuration
+@Profile("prod")
+public class DataSourcePoolConfig {
+
+    // Fixed-size pool of (cores * 2) + 1 connections, the HikariCP starting point for a database on
+    // local SSDs. datasource.pool.size overrides it when the database host has a different core count.
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(
+            @Value("${datasource.pool.size:0}") int configuredSize
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int poolSize = configuredSize > 0
+                            ? configuredSize
+                            : Runtime.getRuntime().availableProcessors() * 2 + 1;
+
+                    dataSource.setMaximumPoolSize(poolSize);
+                    dataSource.setMinimumIdle(poolSize);
+                    log.info("Sizing connection pool {} to {} connections", dataSource.getPoolName(), poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+}
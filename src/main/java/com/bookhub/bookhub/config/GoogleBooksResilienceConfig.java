@@ -0,0 +1,78 @@
+package com.bookhub.bookhub.config;
+
+import com.bookhub.bookhub.exception.ExternalServiceException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+@Configuration
+public class GoogleBooksResilienceConfig {
+    private static final String GOOGLE_BOOKS = "googleBooks";
+
+    @Value("${google.books.retry.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${google.books.retry.initial-backoff}")
+    private Duration initialBackoff;
+
+    @Value("${google.books.circuit-breaker.failure-rate-threshold}")
+    private float failureRateThreshold;
+
+    @Value("${google.books.circuit-breaker.sliding-window-size}")
+    private int slidingWindowSize;
+
+    @Value("${google.books.circuit-breaker.minimum-calls}")
+    private int minimumCalls;
+
+    @Value("${google.books.circuit-breaker.open-duration}")
+    private Duration openDuration;
+
+    @Bean
+    public CircuitBreaker googleBooksCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordException(ExternalServiceException.class::isInstance)
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(GOOGLE_BOOKS);
+    }
+
+    @Bean
+    public Retry googleBooksRetry(MeterRegistry meterRegistry) {
+        RetryRegistry registry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialBackoff, 2.0))
+                .retryOnException(GoogleBooksResilienceConfig::isTransient)
+                .build());
+
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry.retry(GOOGLE_BOOKS);
+    }
+
+    private static boolean isTransient(Throwable throwable) {
+        Throwable cause = throwable.getCause();
+        return cause instanceof HttpClientErrorException.TooManyRequests
+                || cause instanceof HttpServerErrorException
+                || cause instanceof ResourceAccessException;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookhub.bookhub.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Remembers which users issued a mutating request recently so their reads stay on the primary until the
+ * replicas have had time to catch up. The window is restarted when the request completes, so it is measured
+ * from the end of the write rather than its start.
+ */
+public class ReadYourWritesTracker implements HandlerInterceptor {
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = window.isZero() || window.isNegative()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(window).build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        recordIfWrite(request);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        recordIfWrite(request);
+    }
+
+    public boolean currentUserRecentlyWrote() {
+        String username = currentUsername();
+        return recentWriters != null && username != null && recentWriters.getIfPresent(username) != null;
+    }
+
+    private void recordIfWrite(HttpServletRequest request) {
+        if (recentWriters == null || SAFE_METHODS.contains(request.getMethod())) {
+            return;
+        }
+
+        String username = currentUsername();
+        if (username != null) {
+            recentWriters.put(username, Boolean.TRUE);
+        }
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
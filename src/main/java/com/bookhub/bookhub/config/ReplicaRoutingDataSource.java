@@ -0,0 +1,117 @@
+package com.bookhub.bookhub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out read-only connections round-robin across the healthy replicas. Falls back to the primary when
+ * no replica is healthy, when a replica refuses a connection, or while the current user is inside their
+ * read-your-writes window.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private static final String REPLICATION_LAG_SQL = """
+            SELECT COALESCE(CASE
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            END, 0)
+            """;
+
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<HikariDataSource> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        List<HikariDataSource> healthy = healthyReplicas;
+
+        if (healthy.isEmpty() || readYourWritesTracker.currentUserRecentlyWrote()) {
+            return source.open(primary);
+        }
+
+        HikariDataSource replica = healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+        try {
+            return source.open(replica);
+        } catch (SQLFeatureNotSupportedException e) {
+            // a pool that rejects per-call credentials is misused, not unhealthy
+            throw e;
+        } catch (SQLException e) {
+            markUnhealthy(replica, e);
+            return source.open(primary);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval}")
+    public void checkHealth() {
+        List<HikariDataSource> healthy = new ArrayList<>(replicas.size());
+
+        for (HikariDataSource replica : replicas) {
+            try (Connection connection = replica.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                lag.next();
+                Duration replicationLag = Duration.ofMillis((long) (lag.getDouble(1) * 1000));
+
+                if (replicationLag.compareTo(maxLag) <= 0) {
+                    healthy.add(replica);
+                } else {
+                    log.warn("Replica {} is {} behind the primary, routing its reads to the primary",
+                            replica.getPoolName(), replicationLag);
+                }
+            } catch (SQLException e) {
+                log.warn("Replica {} failed its health check: {}", replica.getPoolName(), e.getMessage());
+            }
+        }
+
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private void markUnhealthy(HikariDataSource replica, SQLException e) {
+        log.warn("Replica {} refused a connection, routing its reads to the primary: {}",
+                replica.getPoolName(), e.getMessage());
+        healthyReplicas = healthyReplicas.stream().filter(candidate -> candidate != replica).toList();
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
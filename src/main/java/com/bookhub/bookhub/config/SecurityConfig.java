@@ -1,9 +1,14 @@
 package com.bookhub.bookhub.config;
 
 import com.bookhub.bookhub.filter.JwtAuthFilter;
+import com.bookhub.bookhub.service.CustomUserDetailService;
+import com.bookhub.bookhub.service.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -11,28 +16,58 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailService userDetailsService;
     private final JwtAuthFilter jwtAuthFilter;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Value("${security.password.bcrypt-strength}")
+    private int bcryptStrength;
+
+    @Value("${security.password.hashing-threads}")
+    private int hashingThreads;
+
+    @Value("${security.password.queue-capacity}")
+    private int hashingQueueCapacity;
+
+    @Value("${security.password.wait-timeout}")
+    private Duration hashingWaitTimeout;
+
+    @Value("${server.port}")
+    private int serverPort;
+
+    @Value("${management.server.port}")
+    private int managementPort;
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength),
+                threads,
+                hashingQueueCapacity,
+                hashingWaitTimeout,
+                meterRegistry
+        );
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -41,8 +76,27 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // The management port is published only to the Prometheus scraper, which has no JWT, so read-only
+    // actuator requests arriving on it are let through. On the application port the actuator stays
+    // behind the LIBRARIAN role below.
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(request -> managementPort > 0
+                        && managementPort != serverPort
+                        && request.getLocalPort() == managementPort)
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/actuator/**").permitAll()
+                        .anyRequest().denyAll()
+                );
+
+        return http.build();
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -53,6 +107,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/users/register").permitAll()
 
                         .requestMatchers(HttpMethod.GET, "/api/books/**").hasAnyRole("LIBRARIAN", "READER")
+                        .requestMatchers(HttpMethod.POST, "/api/books/availability").hasAnyRole("LIBRARIAN", "READER")
                         .requestMatchers("/api/books/**").hasRole("LIBRARIAN")
 
                         .requestMatchers(HttpMethod.GET, "/api/loans/user/**").hasAnyRole("LIBRARIAN", "READER")
@@ -63,9 +118,12 @@ public class SecurityConfig {
 
                         .requestMatchers("/api/google-books/**").hasRole("LIBRARIAN")
 
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("LIBRARIAN")
+
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
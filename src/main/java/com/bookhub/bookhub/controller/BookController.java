@@ -1,7 +1,10 @@
 package com.bookhub.bookhub.controller;
 
+import com.bookhub.bookhub.dto.book.request.BookAvailabilityRequest;
 import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
 import com.bookhub.bookhub.dto.book.request.BookUpdateRequest;
+import com.bookhub.bookhub.dto.book.response.BookAvailabilityResponse;
+import com.bookhub.bookhub.dto.book.response.BookPageResponse;
 import com.bookhub.bookhub.dto.book.response.BookResponse;
 import com.bookhub.bookhub.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,9 +15,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -23,15 +31,42 @@ import java.util.List;
 @Tag(name = "Books", description = "Book management endpoints")
 public class BookController {
     private final BookService bookService;
+    private final JsonMapper jsonMapper;
 
-    @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieve a list of all books in the library")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of books")
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
-        List<BookResponse> books = bookService.getAllBooks();
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get all books", description = "Retrieve a page of books ordered by ID. Use the returned 'next' cursor to fetch the following page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of books"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<BookPageResponse> getAllBooks(
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default and maximum are configurable)")
+            @RequestParam(required = false) Integer size
+    ) {
+        BookPageResponse books = bookService.getAllBooks(cursor, size);
         return ResponseEntity.ok(books);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all books", description = "Stream the whole catalog as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Catalog streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        StreamingResponseBody body = outputStream -> bookService.streamAllBooks(book -> {
+            try {
+                outputStream.write(jsonMapper.writeValueAsBytes(book));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get book by ID", description = "Retrieve a specific book by its ID")
     @ApiResponses(value = {
@@ -89,13 +124,20 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search books", description = "Search books by title keyword")
-    @ApiResponse(responseCode = "200", description = "Search completed successfully")
+    @Operation(summary = "Search books", description = "Full-text search over title, author and ISBN, ranked by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page or page size")
+    })
     public ResponseEntity<List<BookResponse>> searchBooks(
-            @Parameter(description = "Search keyword")
-            @RequestParam String keyword
+            @Parameter(description = "Search keywords (prefixes are matched, accents ignored)")
+            @RequestParam String keyword,
+            @Parameter(description = "Zero-based page number")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (default and maximum are configurable)")
+            @RequestParam(required = false) Integer size
     ) {
-        List<BookResponse> books = bookService.searchBooks(keyword);
+        List<BookResponse> books = bookService.searchBooks(keyword, page, size);
         return ResponseEntity.ok(books);
     }
 
@@ -172,4 +214,17 @@ public class BookController {
         boolean isAvailable = bookService.isBookAvailable(id);
         return ResponseEntity.ok(isAvailable);
     }
+
+    @PostMapping("/availability")
+    @Operation(summary = "Check availability of many books",
+            description = "Return the available copies of each requested book. Unknown IDs are omitted from the response.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability checked"),
+            @ApiResponse(responseCode = "400", description = "Invalid list of book IDs")
+    })
+    public ResponseEntity<List<BookAvailabilityResponse>> getAvailability(
+            @Valid @RequestBody BookAvailabilityRequest request
+    ) {
+        return ResponseEntity.ok(bookService.getAvailability(request.getBookIds()));
+    }
 }
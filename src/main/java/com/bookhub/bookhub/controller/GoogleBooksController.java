@@ -2,12 +2,16 @@ package com.bookhub.bookhub.controller;
 
 import com.bookhub.bookhub.dto.book.response.BookResponse;
 import com.bookhub.bookhub.dto.google.GoogleBookItemResponse;
+import com.bookhub.bookhub.dto.google.request.GoogleBooksImportRequest;
+import com.bookhub.bookhub.dto.google.response.GoogleBooksImportJobResponse;
+import com.bookhub.bookhub.service.external.GoogleBooksImportService;
 import com.bookhub.bookhub.service.external.GoogleBooksService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +25,7 @@ import java.util.List;
 @Tag(name = "Google Books", description = "Endpoints for integration with the Google Books API")
 public class GoogleBooksController {
     private final GoogleBooksService googleBooksService;
+    private final GoogleBooksImportService googleBooksImportService;
 
     @GetMapping("/search")
     @Operation(summary = "Search for books in Google Books",
@@ -63,4 +68,34 @@ public class GoogleBooksController {
         BookResponse book = googleBooksService.importBookToLibrary(googleBookId, totalCopies);
         return ResponseEntity.status(HttpStatus.CREATED).body(book);
     }
+
+    @PostMapping("/import-jobs")
+    @Operation(summary = "Start a bulk import job",
+            description = "Import many volumes in the background, either from a list of Google Books IDs or from the first pages of a search query. Titles are deduplicated by ISBN and copies are added to existing books."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid import request")
+    })
+    public ResponseEntity<GoogleBooksImportJobResponse> startImportJob(
+            @Valid @RequestBody GoogleBooksImportRequest request
+    ) {
+        GoogleBooksImportJobResponse job = googleBooksImportService.startImport(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/import-jobs/{jobId}")
+    @Operation(summary = "Get bulk import job status",
+            description = "Report the progress of a bulk import job"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<GoogleBooksImportJobResponse> getImportJob(
+            @Parameter(description = "Import job ID")
+            @PathVariable String jobId
+    ) {
+        return ResponseEntity.ok(googleBooksImportService.getImportJob(jobId));
+    }
 }
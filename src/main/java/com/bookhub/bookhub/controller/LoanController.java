@@ -1,7 +1,10 @@
 package com.bookhub.bookhub.controller;
 
+import com.bookhub.bookhub.dto.loan.request.LoanBatchCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanBatchReturnRequest;
 import com.bookhub.bookhub.dto.loan.request.LoanCreateRequest;
 import com.bookhub.bookhub.dto.loan.request.LoanReturnRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanBatchResponse;
 import com.bookhub.bookhub.dto.loan.response.LoanResponse;
 import com.bookhub.bookhub.service.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -52,6 +55,33 @@ public class LoanController {
         return ResponseEntity.ok(returnedLoan);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create loans in batch",
+            description = "Check out several books for one user. ALL_OR_NOTHING rejects the whole batch on the first failure, BEST_EFFORT returns per-item results")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "User or book not found (ALL_OR_NOTHING)"),
+            @ApiResponse(responseCode = "409", description = "Loan limit, overdue loans or unavailable book (ALL_OR_NOTHING)")
+    })
+    public ResponseEntity<LoanBatchResponse> createLoans(@Valid @RequestBody LoanBatchCreateRequest batchRequest) {
+        LoanBatchResponse response = loanService.createLoans(batchRequest);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/batch/return")
+    @Operation(summary = "Return loans in batch",
+            description = "Return several loans at once. ALL_OR_NOTHING rejects the whole batch on the first failure, BEST_EFFORT returns per-item results")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "404", description = "Loan not found (ALL_OR_NOTHING)"),
+            @ApiResponse(responseCode = "409", description = "Loan already returned (ALL_OR_NOTHING)")
+    })
+    public ResponseEntity<LoanBatchResponse> returnLoans(@Valid @RequestBody LoanBatchReturnRequest batchRequest) {
+        LoanBatchResponse response = loanService.returnLoans(batchRequest);
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{id}/extend")
     @Operation(summary = "Extend a loan", description = "Extend the due date of an active loan (max 3 renewals)")
     @ApiResponses(value = {
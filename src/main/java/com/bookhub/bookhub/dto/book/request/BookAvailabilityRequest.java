@@ -0,0 +1,15 @@
+package com.bookhub.bookhub.dto.book.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BookAvailabilityRequest {
+    @NotEmpty(message = "At least one book ID is required")
+    @Size(max = 1000, message = "At most 1000 book IDs can be checked at once")
+    private List<@NotNull(message = "Book ID is required") Long> bookIds;
+}
@@ -0,0 +1,18 @@
+package com.bookhub.bookhub.dto.book.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class BookAvailabilityResponse {
+    private Long bookId;
+    private Integer availableCopies;
+    private boolean available;
+
+    public BookAvailabilityResponse(Long bookId, Integer availableCopies) {
+        this.bookId = bookId;
+        this.availableCopies = availableCopies;
+        this.available = availableCopies != null && availableCopies > 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bookhub.bookhub.dto.book.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPageResponse {
+    private List<BookResponse> items;
+    private String next;
+}
@@ -26,4 +26,17 @@ public class BookResponse {
         this.availableCopies = book.getAvailableCopies();
         this.available = book.isAvailable();
     }
+
+    public BookResponse withAvailableCopies(int availableCopies) {
+        BookResponse copy = new BookResponse();
+        copy.id = this.id;
+        copy.title = this.title;
+        copy.author = this.author;
+        copy.isbn = this.isbn;
+        copy.publicationYear = this.publicationYear;
+        copy.totalCopies = this.totalCopies;
+        copy.availableCopies = availableCopies;
+        copy.available = availableCopies > 0;
+        return copy;
+    }
 }
@@ -0,0 +1,24 @@
+package com.bookhub.bookhub.dto.google.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GoogleBooksImportRequest {
+    @Size(max = 50000, message = "An import job can contain at most 50000 volume IDs")
+    private List<@NotBlank(message = "Volume ID cannot be blank") String> volumeIds;
+
+    private String query;
+
+    @Min(value = 1, message = "Pages must be at least 1")
+    @Max(value = 25, message = "Pages cannot exceed 25")
+    private int pages = 1;
+
+    @Min(value = 1, message = "Copies per title must be at least 1")
+    private int copiesPerTitle = 1;
+}
@@ -0,0 +1,25 @@
+package com.bookhub.bookhub.dto.google.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoogleBooksImportJobResponse {
+    private String jobId;
+    private String status;
+    private int requested;
+    private int fetched;
+    private int failed;
+    private int duplicates;
+    private int skippedWithoutIsbn;
+    private int upserted;
+    private List<String> errors;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
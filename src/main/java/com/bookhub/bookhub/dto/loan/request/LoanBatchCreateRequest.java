@@ -0,0 +1,24 @@
+package com.bookhub.bookhub.dto.loan.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LoanBatchCreateRequest {
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotEmpty(message = "At least one book ID is required")
+    @Size(max = 50, message = "A batch can contain at most 50 books")
+    private List<@NotNull(message = "Book ID is required") Long> bookIds;
+
+    @Min(value = 1, message = "Loan days must be at least 1")
+    private int loanDays = 14;
+
+    private LoanBatchMode mode = LoanBatchMode.ALL_OR_NOTHING;
+}
@@ -0,0 +1,6 @@
+package com.bookhub.bookhub.dto.loan.request;
+
+public enum LoanBatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
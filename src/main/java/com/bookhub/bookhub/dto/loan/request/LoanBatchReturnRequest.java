@@ -0,0 +1,17 @@
+package com.bookhub.bookhub.dto.loan.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LoanBatchReturnRequest {
+    @NotEmpty(message = "At least one loan ID is required")
+    @Size(max = 50, message = "A batch can contain at most 50 loans")
+    private List<@NotNull(message = "Loan ID is required") Long> loanIds;
+
+    private LoanBatchMode mode = LoanBatchMode.ALL_OR_NOTHING;
+}
@@ -0,0 +1,39 @@
+package com.bookhub.bookhub.dto.loan.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class LoanBatchResponse {
+    private List<ItemResult> results;
+    private int succeeded;
+    private int failed;
+
+    public LoanBatchResponse(List<ItemResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(ItemResult::isSuccess).count();
+        this.failed = results.size() - this.succeeded;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long id;
+        private boolean success;
+        private LoanResponse loan;
+        private String error;
+
+        public static ItemResult success(Long id, LoanResponse loan) {
+            return new ItemResult(id, true, loan, null);
+        }
+
+        public static ItemResult failure(Long id, String error) {
+            return new ItemResult(id, false, null, error);
+        }
+    }
+}
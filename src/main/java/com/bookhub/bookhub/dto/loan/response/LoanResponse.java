@@ -32,8 +32,28 @@ public class LoanResponse {
         this.returnDate = loan.getReturnDate();
         this.status = loan.getStatus();
         this.renewalCount = loan.getRenewalCount();
-        this.overdue = loan.getStatus() == Loan.LoanStatus.OVERDUE ||
-                (loan.getStatus() == Loan.LoanStatus.ACTIVE &&
-                loan.getDueDate().isBefore(LocalDate.now()));
+        this.overdue = isOverdue(loan.getStatus(), loan.getDueDate());
+    }
+
+    public LoanResponse(Long id, Long userId, String userName, Long bookId, String bookTitle,
+                        LocalDate loanDate, LocalDate dueDate, LocalDate returnDate,
+                        Loan.LoanStatus status, int renewalCount) {
+        this.id = id;
+        this.userId = userId;
+        this.userName = userName;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.loanDate = loanDate;
+        this.dueDate = dueDate;
+        this.returnDate = returnDate;
+        this.status = status;
+        this.renewalCount = renewalCount;
+        this.overdue = isOverdue(status, dueDate);
+    }
+
+    private static boolean isOverdue(Loan.LoanStatus status, LocalDate dueDate) {
+        return status == Loan.LoanStatus.OVERDUE ||
+                (status == Loan.LoanStatus.ACTIVE &&
+                dueDate.isBefore(LocalDate.now()));
     }
 }
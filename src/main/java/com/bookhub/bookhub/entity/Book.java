@@ -8,9 +8,14 @@ import java.util.List;
 
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_book_author", columnList = "author"),
+        @Index(name = "idx_book_publication_year", columnList = "publication_year")
+})
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -0,0 +1,24 @@
+package com.bookhub.bookhub.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "google_books_cache")
+public class GoogleBooksCacheEntry {
+    @Id
+    @Column(length = 600)
+    private String cacheKey;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime fetchedAt;
+}
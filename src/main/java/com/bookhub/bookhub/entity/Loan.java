@@ -7,23 +7,29 @@ import java.time.LocalDate;
 
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_loan_status_due_date", columnList = "status, due_date"),
+        @Index(name = "idx_loan_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_loan_book_status", columnList = "book_id, status")
+})
 public class Loan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "loan_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private Book book;
 
     @Column(nullable = false)
     private LocalDate loanDate;
 
-    @Column(nullable = false)
+    @Column(name = "due_date", nullable = false)
     private LocalDate dueDate;
 
     private LocalDate returnDate;
@@ -1,11 +1,14 @@
 package com.bookhub.bookhub.filter;
 
 import com.bookhub.bookhub.service.JwtService;
+import com.bookhub.bookhub.service.TokenCacheService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,12 +19,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenCacheService tokenCacheService;
+    private final Meter.MeterProvider<Timer> authTimer;
+
+    public JwtAuthFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            TokenCacheService tokenCacheService,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenCacheService = tokenCacheService;
+        this.authTimer = Timer.builder("auth.jwt.filter")
+                .description("Time spent resolving the principal of a bearer token")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -37,12 +57,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         final String jwtToken = authHeader.substring(7);
-        final String userEmail = jwtService.extractUsername(jwtToken);
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = timedResolve(jwtToken);
 
-            if (jwtService.validateToken(jwtToken, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
@@ -54,4 +73,57 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails timedResolve(String jwtToken) {
+        long start = System.nanoTime();
+        String outcome = "rejected";
+        String exception = "none";
+
+        try {
+            UserDetails cached = tokenCacheService.get(jwtToken);
+
+            if (cached != null) {
+                outcome = "cached";
+                return cached;
+            }
+
+            UserDetails userDetails = resolveUserDetails(jwtToken);
+            if (userDetails != null) {
+                outcome = "authenticated";
+            }
+            return userDetails;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            authTimer.withTags("outcome", outcome, "exception", exception)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private UserDetails resolveUserDetails(String jwtToken) {
+
+        final JwtService.TokenClaims tokenClaims = jwtService.validateAndExtract(jwtToken);
+        final String userEmail = tokenClaims.getSubject();
+
+        if (userEmail == null || tokenClaims.isExpired()) {
+            return null;
+        }
+
+        if (tokenCacheService.isRevoked(userEmail, tokenClaims.getIssuedAt())) {
+            return null;
+        }
+
+        UserDetails userDetails = tokenClaims.hasUserClaims()
+                ? tokenClaims.toAuthenticatedUser()
+                : this.userDetailsService.loadUserByUsername(userEmail);
+
+        if (!userEmail.equals(userDetails.getUsername())) {
+            return null;
+        }
+
+        tokenCacheService.put(jwtToken, userDetails, tokenClaims.getIssuedAt(), tokenClaims.getExpiration());
+        return userDetails;
+    }
 }
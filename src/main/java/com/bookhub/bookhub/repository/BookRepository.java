@@ -1,14 +1,24 @@
 package com.bookhub.bookhub.repository;
 
+import com.bookhub.bookhub.dto.book.response.BookAvailabilityResponse;
 import com.bookhub.bookhub.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookUpsertRepository {
     Optional<Book> findByIsbn(String isbn);
 
     List<Book> findByAuthor(String Author);
@@ -17,13 +27,58 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 
     List<Book> findByPublicationYearGreaterThan(Integer year);
 
-    List<Book> findByTitleContaining(String keyword);
-
     long countByAuthor(String author);
 
     boolean existsByIsbn(String isbn);
 
     void deleteByIsbn(String isbn);
 
-    List<Book> findByTitleContainingIgnoreCase(String title);
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select b.availableCopies from Book b where b.id = :id")
+    Optional<Integer> findAvailableCopiesById(@Param("id") Long id);
+
+    @Query("select new com.bookhub.bookhub.dto.book.response.BookAvailabilityResponse(b.id, b.availableCopies) from Book b where b.id in :ids")
+    List<BookAvailabilityResponse> findAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.bookhub.bookhub.dto.book.response.BookAvailabilityResponse(b.id, b.availableCopies) from Book b")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BookAvailabilityResponse> streamAvailability();
+
+    @Query("select b from Book b order by b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAll();
+
+    @Modifying
+    @Query("update Book b set b.availableCopies = b.availableCopies - 1 where b.id = :id and b.availableCopies > 0")
+    int decrementAvailableCopies(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Book b set b.availableCopies = b.availableCopies + 1 where b.id = :id and b.availableCopies < b.totalCopies")
+    int incrementAvailableCopies(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Book b set b.totalCopies = b.totalCopies + :delta, b.availableCopies = b.availableCopies + :delta " +
+            "where b.id = :id and b.availableCopies + :delta >= 0")
+    int adjustCopies(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query(value = """
+            SELECT b.id, b.title, b.author, b.isbn, b.publication_year, b.total_copies, b.available_copies
+            FROM book b, to_tsquery('simple', :query) q
+            WHERE b.search_vector @@ q
+            ORDER BY coalesce(b.isbn = :isbn, false) DESC, ts_rank(b.search_vector, q) DESC, b.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Book> searchCatalog(
+            @Param("query") String query,
+            @Param("isbn") String isbn,
+            @Param("limit") int limit,
+            @Param("offset") long offset
+    );
 }
@@ -0,0 +1,14 @@
+package com.bookhub.bookhub.repository;
+
+import com.bookhub.bookhub.entity.Book;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface BookUpsertRepository {
+    @Transactional
+    Book upsertByIsbn(Book book);
+
+    @Transactional
+    int upsertAllByIsbn(List<Book> books);
+}
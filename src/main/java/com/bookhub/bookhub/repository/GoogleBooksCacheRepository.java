@@ -0,0 +1,9 @@
+package com.bookhub.bookhub.repository;
+
+import com.bookhub.bookhub.entity.GoogleBooksCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GoogleBooksCacheRepository extends JpaRepository<GoogleBooksCacheEntry, String> {
+}
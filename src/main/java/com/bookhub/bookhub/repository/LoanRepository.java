@@ -1,10 +1,15 @@
 package com.bookhub.bookhub.repository;
 
+import com.bookhub.bookhub.dto.loan.response.LoanResponse;
 import com.bookhub.bookhub.entity.Loan;
 import com.bookhub.bookhub.entity.Loan.LoanStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +18,41 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     List<Loan> findByBookId(Long bookId);
     List<Loan> findByStatus(LoanStatus status);
     List<Loan> findByUserIdAndStatus(Long userId, LoanStatus status);
+
+    long countByUserIdAndStatusNot(Long userId, LoanStatus status);
+
+    boolean existsByUserIdAndStatus(Long userId, LoanStatus status);
+
+    boolean existsByUserIdAndStatusNot(Long userId, LoanStatus status);
+
+    boolean existsByUserIdAndStatusAndDueDateBefore(Long userId, LoanStatus status, LocalDate date);
+
+    boolean existsByBookId(Long bookId);
+
+    @Query("select l from Loan l join fetch l.user join fetch l.book where l.id in :ids")
+    List<Loan> findAllWithUserAndBookByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.bookhub.bookhub.dto.loan.response.LoanResponse(
+                l.id, u.id, u.name, b.id, b.title, l.loanDate, l.dueDate, l.returnDate, l.status, l.renewalCount
+            )
+            from Loan l
+            join l.user u
+            join l.book b
+            where l.status = :status
+            order by l.dueDate, l.id
+            """)
+    List<LoanResponse> findResponsesByStatus(@Param("status") LoanStatus status);
+
+    @Query("""
+            select new com.bookhub.bookhub.dto.loan.response.LoanResponse(
+                l.id, u.id, u.name, b.id, b.title, l.loanDate, l.dueDate, l.returnDate, l.status, l.renewalCount
+            )
+            from Loan l
+            join l.user u
+            join l.book b
+            where u.id = :userId and l.status <> :status
+            order by l.dueDate, l.id
+            """)
+    List<LoanResponse> findResponsesByUserIdAndStatusNot(@Param("userId") Long userId, @Param("status") LoanStatus status);
 }
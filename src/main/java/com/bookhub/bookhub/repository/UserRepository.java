@@ -2,12 +2,18 @@ package com.bookhub.bookhub.repository;
 
 import com.bookhub.bookhub.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select u.tokensValidAfter from User u where u.email = :email")
+    Optional<Instant> findTokensValidAfterByEmail(@Param("email") String email);
 }
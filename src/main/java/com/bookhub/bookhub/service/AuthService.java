@@ -2,16 +2,16 @@ package com.bookhub.bookhub.service;
 
 import com.bookhub.bookhub.dto.auth.request.LoginRequest;
 import com.bookhub.bookhub.dto.auth.response.AuthResponse;
-import com.bookhub.bookhub.entity.User;
-import com.bookhub.bookhub.repository.UserRepository;
+import com.bookhub.bookhub.service.security.AuthenticatedUser;
+import com.bookhub.bookhub.service.security.LoginAttemptService;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,17 +19,26 @@ import org.springframework.stereotype.Service;
 public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final LoginAttemptService loginAttemptService;
 
-    public AuthResponse authenticate(LoginRequest loginRequest) {
-        UserDetails userDetails = authenticateAndGetUserDetails(loginRequest);
-        String jwtToken = generateTokenForUser(userDetails);
-        User user = fetchUserFromDatabase(loginRequest.getEmail());
+    public AuthResponse authenticate(LoginRequest loginRequest, String clientIp) {
+        loginAttemptService.checkAllowed(loginRequest.getEmail(), clientIp);
+
+        AuthenticatedUser user;
+        try {
+            user = authenticateAndGetUser(loginRequest);
+        } catch (BadCredentialsException e) {
+            loginAttemptService.recordFailure(loginRequest.getEmail(), clientIp);
+            throw e;
+        }
+        loginAttemptService.recordSuccess(loginRequest.getEmail());
+
+        String jwtToken = generateTokenForUser(user);
 
         return buildAuthResponse(jwtToken, user);
     }
 
-    private UserDetails authenticateAndGetUserDetails(LoginRequest request) {
+    private AuthenticatedUser authenticateAndGetUser(LoginRequest request) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
@@ -38,21 +47,14 @@ public class AuthService {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        return (UserDetails) authentication.getPrincipal();
-    }
-
-    private String generateTokenForUser(@NotNull UserDetails userDetails) {
-        return jwtService.generateToken(userDetails);
+        return (AuthenticatedUser) authentication.getPrincipal();
     }
 
-    private User fetchUserFromDatabase(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException(
-                        "User not found after authentication:" + email
-                ));
+    private String generateTokenForUser(@NotNull AuthenticatedUser user) {
+        return jwtService.generateToken(user);
     }
 
-    private AuthResponse buildAuthResponse(String token, User user) {
+    private AuthResponse buildAuthResponse(String token, AuthenticatedUser user) {
         AuthResponse.UserInfo userInfo = new AuthResponse.UserInfo(
                 user.getId(),
                 user.getName(),
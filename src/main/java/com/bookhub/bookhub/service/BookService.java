@@ -2,24 +2,29 @@ package com.bookhub.bookhub.service;
 
 import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
 import com.bookhub.bookhub.dto.book.request.BookUpdateRequest;
+import com.bookhub.bookhub.dto.book.response.BookAvailabilityResponse;
+import com.bookhub.bookhub.dto.book.response.BookPageResponse;
 import com.bookhub.bookhub.dto.book.response.BookResponse;
 import com.bookhub.bookhub.entity.Book;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookService {
     BookResponse createBook(BookCreateRequest bookRequest);
     BookResponse updateBook(Long id, BookUpdateRequest bookDetails);
     void deleteBook(Long id);
     Optional<BookResponse> getBookById(Long id);
-    List<BookResponse> getAllBooks();
+    BookPageResponse getAllBooks(String cursor, Integer size);
+    void streamAllBooks(Consumer<BookResponse> consumer);
 
-    List<BookResponse> searchBooks(String keyword);
+    List<BookResponse> searchBooks(String keyword, int page, Integer size);
     List<BookResponse> getBooksByAuthor(String author);
     Optional<BookResponse> getBookByIsbn(String isbn);
 
     void incrementCopies(Long bookId, int quantity);
     void decrementCopies(Long bookId, int quantity);
     boolean isBookAvailable(Long bookId);
+    List<BookAvailabilityResponse> getAvailability(List<Long> bookIds);
 }
@@ -1,23 +1,40 @@
 package com.bookhub.bookhub.service;
 
 import com.bookhub.bookhub.config.JwtConfig;
+import com.bookhub.bookhub.entity.User;
+import com.bookhub.bookhub.service.security.AuthenticatedUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import lombok.Data;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
+    private static final String ROLE_CLAIM = "role";
+
     private final JwtConfig jwtConfig;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+
+    public JwtService(JwtConfig jwtConfig, SecretKey secretKey) {
+        this.jwtConfig = jwtConfig;
+        this.secretKey = secretKey;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -32,20 +49,26 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    public TokenClaims validateAndExtract(String token) {
+        final Claims claims = extractAllClaims(token);
+        return new TokenClaims(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(), claims);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(jwtConfig.secretKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     public String generateToken(@NonNull UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(NAME_CLAIM, user.getName());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+        }
+
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -59,12 +82,38 @@ public class JwtService {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtConfig.getJwtExpiration()))
-                .signWith(jwtConfig.secretKey(), SignatureAlgorithm.HS256)
+                .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final TokenClaims tokenClaims = validateAndExtract(token);
+        return (tokenClaims.getSubject().equals(userDetails.getUsername()) && !tokenClaims.isExpired());
+    }
+
+    @Data
+    public static class TokenClaims {
+        private final String subject;
+        private final Date issuedAt;
+        private final Date expiration;
+        private final Claims claims;
+
+        public boolean isExpired() {
+            return expiration.before(new Date());
+        }
+
+        public boolean hasUserClaims() {
+            return claims.get(USER_ID_CLAIM) != null && claims.get(ROLE_CLAIM) != null;
+        }
+
+        public AuthenticatedUser toAuthenticatedUser() {
+            return new AuthenticatedUser(
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    claims.get(NAME_CLAIM, String.class),
+                    subject,
+                    User.Role.valueOf(claims.get(ROLE_CLAIM, String.class)),
+                    null
+            );
+        }
     }
 }
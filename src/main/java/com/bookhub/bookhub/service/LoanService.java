@@ -1,6 +1,9 @@
 package com.bookhub.bookhub.service;
 
+import com.bookhub.bookhub.dto.loan.request.LoanBatchCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanBatchReturnRequest;
 import com.bookhub.bookhub.dto.loan.request.LoanCreateRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanBatchResponse;
 import com.bookhub.bookhub.dto.loan.response.LoanResponse;
 import com.bookhub.bookhub.entity.Loan;
 
@@ -9,6 +12,8 @@ import java.util.List;
 public interface LoanService {
     LoanResponse createLoan(LoanCreateRequest loanRequest);
     LoanResponse returnLoan(Long loanId);
+    LoanBatchResponse createLoans(LoanBatchCreateRequest batchRequest);
+    LoanBatchResponse returnLoans(LoanBatchReturnRequest batchRequest);
     List<LoanResponse> getActiveLoansByUser(Long userId);
     List<LoanResponse> getOverdueLoans();
     LoanResponse extendLoan(Long loanId, int additionalDays);
@@ -0,0 +1,78 @@
+package com.bookhub.bookhub.service;
+
+import com.bookhub.bookhub.service.security.TokenValidityService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+@Service
+public class TokenCacheService {
+    private final Cache<String, CachedPrincipal> cache;
+    private final TokenValidityService tokenValidityService;
+    private final boolean revocationEnabled;
+
+    public TokenCacheService(
+            TokenValidityService tokenValidityService,
+            @Value("${jwt.cache.maximum-size}") long maximumSize,
+            @Value("${jwt.cache.ttl}") Duration ttl,
+            @Value("${jwt.revocation.enabled}") boolean revocationEnabled
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String token, CachedPrincipal principal) -> {
+                    Duration untilExpiration = Duration.between(Instant.now(), principal.expiresAt());
+                    return untilExpiration.compareTo(ttl) < 0 ? untilExpiration : ttl;
+                }))
+                .build();
+        this.tokenValidityService = tokenValidityService;
+        this.revocationEnabled = revocationEnabled;
+    }
+
+    public UserDetails get(String token) {
+        CachedPrincipal principal = cache.getIfPresent(token);
+
+        if (principal == null || !principal.expiresAt().isAfter(Instant.now())) {
+            return null;
+        }
+
+        if (isRevoked(principal.userDetails().getUsername(), principal.issuedAt())) {
+            cache.invalidate(token);
+            return null;
+        }
+
+        return principal.userDetails();
+    }
+
+    public void put(String token, UserDetails userDetails, Date issuedAt, Date expiration) {
+        Instant expiresAt = expiration.toInstant();
+
+        if (expiresAt.isAfter(Instant.now())) {
+            cache.put(token, new CachedPrincipal(userDetails, issuedAt == null ? null : issuedAt.toInstant(), expiresAt));
+        }
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        return isRevoked(username, issuedAt == null ? null : issuedAt.toInstant());
+    }
+
+    // Called once the change that moved tokens_valid_after has committed, so this instance stops accepting
+    // the old tokens at once; other instances follow when their validity cache entry expires.
+    public void revokeUser(String username) {
+        tokenValidityService.evict(username);
+        cache.asMap().values().removeIf(principal -> principal.userDetails().getUsername().equals(username));
+    }
+
+    private boolean isRevoked(String username, Instant issuedAt) {
+        return revocationEnabled && !tokenValidityService.isValid(username, issuedAt);
+    }
+
+    private record CachedPrincipal(UserDetails userDetails, Instant issuedAt, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.bookhub.bookhub.service.availability;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Holds a LISTEN on the book_availability channel fed by the notify_book_availability trigger and drops the
+ * in-memory entry of every book changed by another instance or outside the application. This instance's own
+ * changes, tagged by {@link BookAvailabilityOrigin}, were already applied when they committed. The connection
+ * is opened outside the Hikari pool because it stays checked out for the life of the application. While it is
+ * down, {@link BookAvailabilityService} reads from the database.
+ */
+@Component
+@Slf4j
+public class BookAvailabilityListener {
+    static final String CHANNEL = "book_availability";
+
+    private final BookAvailabilityService availabilityService;
+    private final BookAvailabilityOrigin origin;
+    private final String url;
+    private final Properties connectionProperties = new Properties();
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    public BookAvailabilityListener(
+            BookAvailabilityService availabilityService,
+            BookAvailabilityOrigin origin,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${books.availability.notifications.poll-timeout}") Duration pollTimeout,
+            @Value("${books.availability.notifications.reconnect-delay}") Duration reconnectDelay
+    ) {
+        this.availabilityService = availabilityService;
+        this.origin = origin;
+        this.url = url;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        connectionProperties.setProperty("user", username);
+        connectionProperties.setProperty("password", password);
+        connectionProperties.setProperty("tcpKeepAlive", "true");
+        connectionProperties.setProperty("ApplicationName", "bookhub-availability-listener");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("book-availability-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(url, connectionProperties)) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                PGConnection notifications = listening.unwrap(PGConnection.class);
+                availabilityService.onNotificationsConnected();
+                log.info("Listening for book availability changes");
+
+                while (running) {
+                    dispatch(notifications.getNotifications((int) pollTimeout.toMillis()));
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Lost the book availability listener, reading availability from the database until it reconnects", e);
+                }
+            } finally {
+                connection = null;
+                availabilityService.onNotificationsLost();
+            }
+
+            if (!awaitReconnect()) {
+                return;
+            }
+        }
+    }
+
+    private void dispatch(PGNotification[] notifications) {
+        if (notifications == null) {
+            return;
+        }
+
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf(':');
+            if (separator >= 0 && origin.isLocal(payload.substring(separator + 1))) {
+                continue;
+            }
+
+            try {
+                availabilityService.onRemoteChange(Long.parseLong(separator >= 0 ? payload.substring(0, separator) : payload));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring book availability notification with payload '{}'", notification.getParameter());
+            }
+        }
+    }
+
+    private boolean awaitReconnect() {
+        if (!running) {
+            return false;
+        }
+
+        try {
+            Thread.sleep(reconnectDelay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void closeQuietly(Connection listening) {
+        if (listening == null) {
+            return;
+        }
+
+        try {
+            listening.close();
+        } catch (SQLException e) {
+            log.debug("Could not close the book availability listener connection", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bookhub.bookhub.service.availability;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Gives the pooled connections of this instance an application_name of their own, which the V6 trigger adds
+ * to every book_availability notification. {@link BookAvailabilityListener} uses it to skip the changes
+ * {@link BookAvailabilityService} has already applied from its commit hooks.
+ */
+@Component
+public class BookAvailabilityOrigin implements BeanPostProcessor {
+    private final String sessionName;
+
+    public BookAvailabilityOrigin(@Value("${spring.application.name}") String applicationName) {
+        this.sessionName = applicationName + "-" + UUID.randomUUID();
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            dataSource.addDataSourceProperty("ApplicationName", sessionName);
+        }
+        return bean;
+    }
+
+    boolean isLocal(String origin) {
+        return sessionName.equals(origin);
+    }
+}
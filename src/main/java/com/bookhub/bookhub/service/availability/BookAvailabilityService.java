@@ -0,0 +1,374 @@
+package com.bookhub.bookhub.service.availability;
+
+import com.bookhub.bookhub.dto.book.response.BookAvailabilityResponse;
+import com.bookhub.bookhub.repository.BookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory available_copies per book. Checkouts, returns and copy changes made by this instance adjust their
+ * entry by the same delta once their transaction commits; deltas commute, so commit hooks may run in any
+ * order. Changes made by other instances or directly in SQL reach {@link BookAvailabilityListener} on the
+ * book_availability channel and remove the entry, and the next read loads it again from the database, so the
+ * table is only trusted while the listener is subscribed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BookAvailabilityService {
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    private final BookRepository bookRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final StampedLock lock = new StampedLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> uncommittedAdjustments = new HashMap<>();
+    private LongIntHashMap availableCopies = new LongIntHashMap(0);
+    private long changes;
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+    private volatile boolean listening;
+    private volatile long listenerEpoch;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("books.availability.entries", this, service -> service.size())
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${books.availability.resync-interval}",
+            fixedDelayString = "${books.availability.resync-interval}"
+    )
+    public void resync() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild the availability table, serving {}", ready ? "the previous table" : "from the database", e);
+        }
+    }
+
+    // Reads that miss the table go to the database in the caller's transaction, which must not be
+    // read-only: a replica may not have the change whose notification just removed the entry.
+    public OptionalInt getAvailableCopies(Long bookId) {
+        if (!ready) {
+            return toOptionalInt(bookRepository.findAvailableCopiesById(bookId));
+        }
+
+        int copies = lookup(List.of(bookId))[0];
+        if (copies != MISSING) {
+            return OptionalInt.of(copies);
+        }
+
+        long seen = changeCount();
+        Optional<Integer> loaded = bookRepository.findAvailableCopiesById(bookId);
+        loaded.ifPresent(value -> cacheUnlessChanged(seen, List.of(new BookAvailabilityResponse(bookId, value))));
+        return toOptionalInt(loaded);
+    }
+
+    public List<BookAvailabilityResponse> getAvailability(Collection<Long> bookIds) {
+        if (!ready) {
+            return bookRepository.findAvailabilityByIdIn(bookIds);
+        }
+
+        List<Long> ids = List.copyOf(bookIds);
+        int[] copies = lookup(ids);
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < copies.length; i++) {
+            if (copies[i] == MISSING) {
+                missing.add(ids.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long seen = changeCount();
+            List<BookAvailabilityResponse> loaded = bookRepository.findAvailabilityByIdIn(missing);
+            cacheUnlessChanged(seen, loaded);
+
+            Map<Long, Integer> loadedCopies = new HashMap<>();
+            loaded.forEach(row -> loadedCopies.put(row.getBookId(), row.getAvailableCopies()));
+            for (int i = 0; i < copies.length; i++) {
+                if (copies[i] == MISSING) {
+                    copies[i] = loadedCopies.getOrDefault(ids.get(i), MISSING);
+                }
+            }
+        }
+
+        List<BookAvailabilityResponse> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < copies.length; i++) {
+            if (copies[i] != MISSING) {
+                result.add(new BookAvailabilityResponse(ids.get(i), copies[i]));
+            }
+        }
+        return result;
+    }
+
+    public void onCopyReserved(Long bookId) {
+        adjustAfterCommit(bookId, -1);
+    }
+
+    public void onCopyReleased(Long bookId) {
+        adjustAfterCommit(bookId, 1);
+    }
+
+    public void onCopiesAdjusted(Long bookId, int delta) {
+        if (delta != 0) {
+            adjustAfterCommit(bookId, delta);
+        }
+    }
+
+    // For writes that set the copies instead of adding to them, which reload the entry on its next read.
+    public void onBookSaved(Long bookId) {
+        afterCommit(() -> invalidate(bookId));
+    }
+
+    public void onBookDeleted(Long bookId) {
+        afterCommit(() -> invalidate(bookId));
+    }
+
+    void onRemoteChange(long bookId) {
+        invalidate(bookId);
+    }
+
+    // The rebuild runs off the listener thread so notifications for changes committed during the scan are
+    // still applied while it runs and recorded in touchedDuringRebuild.
+    void onNotificationsConnected() {
+        listenerEpoch++;
+        listening = true;
+        Thread.ofVirtual().name("book-availability-rebuild").start(this::resync);
+    }
+
+    // Changes committed while nobody was listening were never invalidated, so the table stays out of use
+    // until a rebuild started after the next successful LISTEN completes.
+    void onNotificationsLost() {
+        listenerEpoch++;
+        listening = false;
+        ready = false;
+    }
+
+    private int[] lookup(List<Long> bookIds) {
+        long stamp = lock.tryOptimisticRead();
+        int[] copies = read(bookIds);
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                copies = read(bookIds);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return copies;
+    }
+
+    // An entry can dip below zero while a release is applied after the reservation that followed it.
+    private int[] read(List<Long> bookIds) {
+        int[] copies = new int[bookIds.size()];
+        for (int i = 0; i < copies.length; i++) {
+            int value = availableCopies.get(bookIds.get(i), MISSING);
+            copies[i] = value == MISSING ? MISSING : Math.max(0, value);
+        }
+        return copies;
+    }
+
+    private void invalidate(long bookId) {
+        long stamp = lock.writeLock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(bookId);
+            }
+            changes++;
+            availableCopies.remove(bookId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // The book is marked before the transaction commits, so a miss loaded from the database between the
+    // commit and its hook, which would already include the delta, is not cached for the hook to apply it twice.
+    private void adjustAfterCommit(Long bookId, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjust(bookId, delta);
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            uncommittedAdjustments.merge(bookId, 1, Integer::sum);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completeAdjustment(bookId, delta, status);
+            }
+        });
+    }
+
+    private void completeAdjustment(Long bookId, int delta, int status) {
+        long stamp = lock.writeLock();
+        try {
+            uncommittedAdjustments.computeIfPresent(bookId, (id, pending) -> pending > 1 ? pending - 1 : null);
+            if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                return;
+            }
+
+            if (rebuilding) {
+                touchedDuringRebuild.add(bookId);
+            }
+            changes++;
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                availableCopies.addIfPresent(bookId, delta);
+            } else {
+                availableCopies.remove(bookId);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void adjust(Long bookId, int delta) {
+        long stamp = lock.writeLock();
+        try {
+            if (rebuilding) {
+                touchedDuringRebuild.add(bookId);
+            }
+            changes++;
+            availableCopies.addIfPresent(bookId, delta);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // A value read before a change may predate it, so it is only cached when nothing changed between the
+    // read and now and no local adjustment to the book is still waiting for its commit hook; otherwise the
+    // next lookup loads it again.
+    private void cacheUnlessChanged(long seen, List<BookAvailabilityResponse> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            if (changes == seen) {
+                rows.stream()
+                        .filter(row -> !uncommittedAdjustments.containsKey(row.getBookId()))
+                        .forEach(row -> availableCopies.put(row.getBookId(), Math.max(0, row.getAvailableCopies())));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private long changeCount() {
+        long stamp = lock.readLock();
+        try {
+            return changes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private OptionalInt toOptionalInt(Optional<Integer> copies) {
+        return copies.map(OptionalInt::of).orElseGet(OptionalInt::empty);
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    // Changes committed while the scan runs may or may not be reflected in it, and so may those whose
+    // commit hook has not run yet, so every id they touch is dropped again once the new table is in place
+    // and reloaded on its next read.
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            long epoch = listenerEpoch;
+            touchedDuringRebuild.clear();
+            rebuilding = true;
+
+            LongIntHashMap rebuilt = primary().execute(status -> {
+                LongIntHashMap table = new LongIntHashMap((int) Math.min(Integer.MAX_VALUE / 4, bookRepository.count()));
+                try (Stream<BookAvailabilityResponse> rows = bookRepository.streamAvailability()) {
+                    rows.forEach(row -> table.put(row.getBookId(), row.getAvailableCopies()));
+                }
+                return table;
+            });
+
+            long stamp = lock.writeLock();
+            try {
+                availableCopies = rebuilt;
+                changes++;
+                touchedDuringRebuild.forEach(availableCopies::remove);
+                uncommittedAdjustments.keySet().forEach(availableCopies::remove);
+                touchedDuringRebuild.clear();
+                rebuilding = false;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+
+            ready = listening && listenerEpoch == epoch;
+            log.info("Availability table rebuilt with {} books in {} ms{}",
+                    rebuilt.size(), (System.nanoTime() - startedAt) / 1_000_000,
+                    ready ? "" : ", not serving it until availability notifications are received");
+        } finally {
+            rebuilding = false;
+            rebuildLock.unlock();
+        }
+    }
+
+    // A read-write transaction is never routed to a replica, and the table must not be rebuilt from one
+    // that may lag behind the primary by up to datasource.replicas.max-lag.
+    private TransactionTemplate primary() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private int size() {
+        long stamp = lock.readLock();
+        try {
+            return availableCopies.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.bookhub.bookhub.service.availability;
+
+/**
+ * Open-addressing map from positive long keys to int values, stored interleaved in a single
+ * long[] (key at 2i, value at 2i + 1) with linear probing and backward-shift deletion.
+ * Not thread-safe; {@link BookAvailabilityService} guards it with a StampedLock. Because the
+ * table is a single array that is always less than half full, a racy optimistic read always
+ * terminates and never indexes out of bounds; it may only return a wrong answer, which the
+ * caller discards when the stamp fails validation.
+ */
+class LongIntHashMap {
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        table = new long[2 * capacityFor(expectedSize)];
+    }
+
+    int get(long key, int missingValue) {
+        long[] slots = table;
+        int mask = (slots.length >>> 1) - 1;
+
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            long stored = slots[2 * index];
+            if (stored == key) {
+                return (int) slots[2 * index + 1];
+            }
+            if (stored == EMPTY) {
+                return missingValue;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+
+        if (2 * (size + 1) > table.length >>> 1) {
+            resize(table.length);
+        }
+
+        int mask = (table.length >>> 1) - 1;
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            long stored = table[2 * index];
+            if (stored == key) {
+                table[2 * index + 1] = value;
+                return;
+            }
+            if (stored == EMPTY) {
+                table[2 * index] = key;
+                table[2 * index + 1] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    boolean addIfPresent(long key, int delta) {
+        int mask = (table.length >>> 1) - 1;
+
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            long stored = table[2 * index];
+            if (stored == key) {
+                table[2 * index + 1] = (int) table[2 * index + 1] + delta;
+                return true;
+            }
+            if (stored == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    void remove(long key) {
+        int mask = (table.length >>> 1) - 1;
+        int index = mix(key) & mask;
+
+        while (table[2 * index] != key) {
+            if (table[2 * index] == EMPTY) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        int gap = index;
+        for (int next = (gap + 1) & mask; table[2 * next] != EMPTY; next = (next + 1) & mask) {
+            int home = mix(table[2 * next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[2 * gap] = table[2 * next];
+                table[2 * gap + 1] = table[2 * next + 1];
+                gap = next;
+            }
+        }
+
+        table[2 * gap] = EMPTY;
+        table[2 * gap + 1] = 0L;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int newCapacity) {
+        long[] old = table;
+        table = new long[2 * newCapacity];
+        size = 0;
+
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != EMPTY) {
+                put(old[i], (int) old[i + 1]);
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2) - 1) << 1;
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
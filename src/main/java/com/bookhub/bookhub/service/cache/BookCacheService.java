@@ -0,0 +1,56 @@
+package com.bookhub.bookhub.service.cache;
+
+import com.bookhub.bookhub.config.CacheConfig;
+import com.bookhub.bookhub.dto.book.response.BookResponse;
+import com.bookhub.bookhub.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class BookCacheService {
+    private final BookRepository bookRepository;
+    private final CacheManager cacheManager;
+    private final RecentCacheEvictions recentCacheEvictions;
+
+    @Cacheable(cacheNames = CacheConfig.BOOKS,
+            unless = "#result == null || @recentCacheEvictions.isRecent(T(com.bookhub.bookhub.config.CacheConfig).BOOKS, #id)")
+    public BookResponse findById(Long id) {
+        return bookRepository.findById(id)
+                .map(BookResponse::new)
+                .orElse(null);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_ISBN,
+            unless = "#result == null || @recentCacheEvictions.isRecent(T(com.bookhub.bookhub.config.CacheConfig).BOOKS_BY_ISBN, #isbn)")
+    public BookResponse findByIsbn(String isbn) {
+        return bookRepository.findByIsbn(isbn)
+                .map(BookResponse::new)
+                .orElse(null);
+    }
+
+    public void evict(Long id, String isbn) {
+        cache(CacheConfig.BOOKS).evict(id);
+        recentCacheEvictions.record(CacheConfig.BOOKS, id);
+
+        if (isbn != null) {
+            cache(CacheConfig.BOOKS_BY_ISBN).evict(isbn);
+            recentCacheEvictions.record(CacheConfig.BOOKS_BY_ISBN, isbn);
+        }
+    }
+
+    public void evictAll() {
+        cache(CacheConfig.BOOKS).clear();
+        cache(CacheConfig.BOOKS_BY_ISBN).clear();
+        recentCacheEvictions.recordClear();
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookhub.bookhub.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * With read replicas enabled, a cache miss right after an eviction can load the row from a replica that
+ * has not replayed the write yet. Entries evicted within the maximum replica lag are therefore served but
+ * not cached again until the window has passed.
+ */
+@Component
+public class RecentCacheEvictions {
+    private final Cache<String, Boolean> recentKeys;
+    private final long windowNanos;
+    private volatile long clearedAt;
+
+    public RecentCacheEvictions(
+            @Value("${datasource.replicas.enabled}") boolean replicasEnabled,
+            @Value("${datasource.replicas.max-lag}") Duration maxLag
+    ) {
+        this.windowNanos = replicasEnabled ? maxLag.toNanos() : 0;
+        this.recentKeys = windowNanos > 0
+                ? Caffeine.newBuilder().expireAfterWrite(maxLag).build()
+                : null;
+        this.clearedAt = System.nanoTime() - windowNanos;
+    }
+
+    public void record(String cacheName, Object key) {
+        if (recentKeys != null && key != null) {
+            recentKeys.put(cacheName + ':' + key, Boolean.TRUE);
+        }
+    }
+
+    public void recordClear() {
+        clearedAt = System.nanoTime();
+    }
+
+    public boolean isRecent(String cacheName, Object key) {
+        if (recentKeys == null) {
+            return false;
+        }
+        return System.nanoTime() - clearedAt < windowNanos || recentKeys.getIfPresent(cacheName + ':' + key) != null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bookhub.bookhub.service.cache;
+
+import com.bookhub.bookhub.config.CacheConfig;
+import com.bookhub.bookhub.dto.user.response.UserResponse;
+import com.bookhub.bookhub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class UserCacheService {
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final RecentCacheEvictions recentCacheEvictions;
+
+    @Cacheable(cacheNames = CacheConfig.USERS,
+            unless = "#result == null || @recentCacheEvictions.isRecent(T(com.bookhub.bookhub.config.CacheConfig).USERS, #id)")
+    public UserResponse findById(Long id) {
+        return userRepository.findById(id)
+                .map(UserResponse::new)
+                .orElse(null);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL,
+            unless = "#result == null || @recentCacheEvictions.isRecent(T(com.bookhub.bookhub.config.CacheConfig).USERS_BY_EMAIL, #email)")
+    public UserResponse findByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .map(UserResponse::new)
+                .orElse(null);
+    }
+
+    public void evict(Long id, String email) {
+        cache(CacheConfig.USERS).evict(id);
+        recentCacheEvictions.record(CacheConfig.USERS, id);
+
+        if (email != null) {
+            cache(CacheConfig.USERS_BY_EMAIL).evict(email);
+            recentCacheEvictions.record(CacheConfig.USERS_BY_EMAIL, email);
+        }
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+}
@@ -0,0 +1,130 @@
+package com.bookhub.bookhub.service.external;
+
+import com.bookhub.bookhub.dto.google.GoogleBookItemResponse;
+import com.bookhub.bookhub.exception.ExternalServiceException;
+import com.bookhub.bookhub.exception.ResourceNotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class GoogleBooksClient {
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker googleBooksCircuitBreaker;
+    private final Retry googleBooksRetry;
+
+    @Value("${google.books.api-key}")
+    private String apiKey;
+
+    @Value("${google.books.base-url}")
+    private String baseUrl;
+
+    public List<GoogleBookItemResponse> searchBooks(String query, int maxResults) {
+        return searchBooks(query, maxResults, 0);
+    }
+
+    public List<GoogleBookItemResponse> searchBooks(String query, int maxResults, int startIndex) {
+        return execute(() -> fetchSearch(query, maxResults, startIndex));
+    }
+
+    public GoogleBookItemResponse getBookById(String googleBookId) {
+        return execute(() -> fetchVolume(googleBookId));
+    }
+
+    private <T> T execute(Supplier<T> call) {
+        Supplier<T> retried = Retry.decorateSupplier(googleBooksRetry, call);
+        try {
+            return googleBooksCircuitBreaker.executeSupplier(retried);
+        } catch (CallNotPermittedException e) {
+            throw new ExternalServiceException("Google Books API temporarily unavailable", e);
+        }
+    }
+
+    private List<GoogleBookItemResponse> fetchSearch(String query, int maxResults, int startIndex) {
+        try {
+            String url = buildSearchUrl(query, maxResults, startIndex);
+
+            ResponseEntity<GoogleBooksSearchResponse> response = restTemplate.getForEntity(
+                    url, GoogleBooksSearchResponse.class
+            );
+
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                throw new ExternalServiceException(
+                        "Google Books API returned non-OK response: " + response.getStatusCode()
+                );
+            }
+
+            List<GoogleBookItemResponse> items = response.getBody().getItems();
+
+            if (items == null) {
+                return Collections.emptyList();
+            }
+
+            return items;
+
+        } catch (HttpClientErrorException e) {
+            throw new ExternalServiceException("Google Books API error: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new ExternalServiceException("Failed to search books: " + e.getMessage(), e);
+        }
+    }
+
+    private GoogleBookItemResponse fetchVolume(String googleBookId) {
+        try {
+            String url = UriComponentsBuilder
+                    .fromUriString(baseUrl + "/volumes/" + googleBookId)
+                    .queryParam("key", apiKey)
+                    .build()
+                    .toUriString();
+
+            ResponseEntity<GoogleBookItemResponse> response = restTemplate.getForEntity(
+                    url, GoogleBookItemResponse.class
+            );
+
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                throw new ResourceNotFoundException("Book not found in Google Books: " + googleBookId);
+            }
+
+            return response.getBody();
+
+        } catch (ResourceNotFoundException e) {
+            throw e;
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ResourceNotFoundException("Book not found in Google Books: " + googleBookId);
+        } catch (HttpClientErrorException e) {
+            throw new ExternalServiceException("Error fetching book: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new ExternalServiceException("Failed to fetch book: " + e.getMessage(), e);
+        }
+    }
+
+    private String buildSearchUrl(String query, int maxResults, int startIndex) {
+        return UriComponentsBuilder.fromUriString(baseUrl + "/volumes")
+                .queryParam("q", query)
+                .queryParam("maxResults", Math.min(maxResults, 40))
+                .queryParam("startIndex", Math.max(startIndex, 0))
+                .queryParam("key", apiKey)
+                .queryParam("printType", "books")
+                .build()
+                .toUriString();
+    }
+
+    @Data
+    private static class GoogleBooksSearchResponse {
+        private List<GoogleBookItemResponse> items;
+    }
+}
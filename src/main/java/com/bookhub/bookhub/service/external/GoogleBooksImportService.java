@@ -0,0 +1,289 @@
+package com.bookhub.bookhub.service.external;
+
+import com.bookhub.bookhub.dto.google.GoogleBookItemResponse;
+import com.bookhub.bookhub.dto.google.request.GoogleBooksImportRequest;
+import com.bookhub.bookhub.dto.google.response.GoogleBooksImportJobResponse;
+import com.bookhub.bookhub.entity.Book;
+import com.bookhub.bookhub.exception.ResourceNotFoundException;
+import com.bookhub.bookhub.repository.BookRepository;
+import com.bookhub.bookhub.service.availability.BookAvailabilityService;
+import com.bookhub.bookhub.service.cache.BookCacheService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GoogleBooksImportService {
+    private static final int SEARCH_PAGE_SIZE = 40;
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MAX_AUTHOR_LENGTH = 100;
+    private static final int MAX_REPORTED_ERRORS = 50;
+
+    private final GoogleBooksClient googleBooksClient;
+    private final GoogleBooksService googleBooksService;
+    private final BookRepository bookRepository;
+    private final BookCacheService bookCacheService;
+    private final BookAvailabilityService bookAvailabilityService;
+
+    @Value("${google.books.import.concurrency}")
+    private int concurrency;
+
+    @Value("${google.books.import.batch-size}")
+    private int batchSize;
+
+    @Value("${google.books.import.retention}")
+    private Duration retention;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void initExecutor() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    public GoogleBooksImportJobResponse startImport(GoogleBooksImportRequest request) {
+        boolean hasIds = request.getVolumeIds() != null && !request.getVolumeIds().isEmpty();
+        boolean hasQuery = request.getQuery() != null && !request.getQuery().isBlank();
+
+        if (hasIds == hasQuery) {
+            throw new IllegalArgumentException("Provide either volume IDs or a search query");
+        }
+
+        purgeFinishedJobs();
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        executor.submit(() -> runJob(job, request, hasIds));
+
+        return job.toResponse();
+    }
+
+    public GoogleBooksImportJobResponse getImportJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with ID: " + jobId);
+        }
+
+        return job.toResponse();
+    }
+
+    private void runJob(ImportJob job, GoogleBooksImportRequest request, boolean hasIds) {
+        job.status = JobStatus.RUNNING;
+
+        try {
+            List<GoogleBookItemResponse> volumes = hasIds
+                    ? fetchVolumes(job, new ArrayList<>(new LinkedHashSet<>(request.getVolumeIds())))
+                    : fetchSearchPages(job, request.getQuery(), request.getPages());
+
+            upsertVolumes(job, volumes, request.getCopiesPerTitle());
+            if (job.upserted.get() > 0) {
+                bookAvailabilityService.resync();
+            }
+            job.finish(JobStatus.COMPLETED);
+            log.info("Import job {} finished: {} fetched, {} upserted, {} skipped without ISBN, {} failed",
+                    job.id, job.fetched.get(), job.upserted.get(), job.skippedWithoutIsbn.get(), job.failed.get());
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.id, e);
+            job.recordError(e.getMessage());
+            job.finish(JobStatus.FAILED);
+        }
+    }
+
+    private List<GoogleBookItemResponse> fetchVolumes(ImportJob job, List<String> volumeIds) {
+        job.requested.set(volumeIds.size());
+
+        List<Callable<List<GoogleBookItemResponse>>> calls = new ArrayList<>(volumeIds.size());
+        for (String volumeId : volumeIds) {
+            calls.add(() -> List.of(googleBooksClient.getBookById(volumeId)));
+        }
+
+        return fanOut(job, calls);
+    }
+
+    private List<GoogleBookItemResponse> fetchSearchPages(ImportJob job, String query, int pages) {
+        List<Callable<List<GoogleBookItemResponse>>> calls = new ArrayList<>(pages);
+        for (int page = 0; page < pages; page++) {
+            int startIndex = page * SEARCH_PAGE_SIZE;
+            calls.add(() -> {
+                List<GoogleBookItemResponse> items = googleBooksClient.searchBooks(query, SEARCH_PAGE_SIZE, startIndex);
+                job.requested.addAndGet(items.size());
+                return items;
+            });
+        }
+
+        return fanOut(job, calls);
+    }
+
+    private List<GoogleBookItemResponse> fanOut(ImportJob job, List<Callable<List<GoogleBookItemResponse>>> calls) {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<List<GoogleBookItemResponse>>> futures = new ArrayList<>(calls.size());
+
+        for (Callable<List<GoogleBookItemResponse>> call : calls) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    List<GoogleBookItemResponse> items = call.call();
+                    job.fetched.addAndGet(items.size());
+                    return items;
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<GoogleBookItemResponse> volumes = new ArrayList<>();
+        for (Future<List<GoogleBookItemResponse>> future : futures) {
+            try {
+                volumes.addAll(future.get());
+            } catch (ExecutionException e) {
+                job.failed.incrementAndGet();
+                job.recordError(e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import job interrupted", e);
+            }
+        }
+
+        return volumes;
+    }
+
+    private void upsertVolumes(ImportJob job, List<GoogleBookItemResponse> volumes, int copiesPerTitle) {
+        Map<String, Book> byIsbn = new LinkedHashMap<>();
+
+        for (GoogleBookItemResponse volume : volumes) {
+            Book book;
+            try {
+                book = googleBooksService.toBook(volume, copiesPerTitle);
+            } catch (IllegalArgumentException e) {
+                job.failed.incrementAndGet();
+                job.recordError(volume.getId() + ": " + e.getMessage());
+                continue;
+            }
+
+            book.setTitle(clip(book.getTitle(), MAX_TITLE_LENGTH));
+            book.setAuthor(clip(book.getAuthor(), MAX_AUTHOR_LENGTH));
+
+            // The upsert matches existing books by ISBN, and a NULL ISBN never conflicts, so importing these
+            // would add another copy of the same book on every re-run of the query.
+            if (book.getIsbn() == null || book.getIsbn().isEmpty()) {
+                job.skippedWithoutIsbn.incrementAndGet();
+                continue;
+            }
+
+            Book existing = byIsbn.putIfAbsent(book.getIsbn(), book);
+            if (existing != null) {
+                existing.setTotalCopies(existing.getTotalCopies() + copiesPerTitle);
+                existing.setAvailableCopies(existing.getAvailableCopies() + copiesPerTitle);
+                job.duplicates.incrementAndGet();
+            }
+        }
+
+        List<Book> books = new ArrayList<>(byIsbn.values());
+
+        for (int from = 0; from < books.size(); from += batchSize) {
+            List<Book> batch = books.subList(from, Math.min(from + batchSize, books.size()));
+            try {
+                job.upserted.addAndGet(bookRepository.upsertAllByIsbn(batch));
+                bookCacheService.evictAll();
+            } catch (RuntimeException e) {
+                log.warn("Import job {} failed to write a batch of {} books: {}", job.id, batch.size(), e.getMessage());
+                job.failed.addAndGet(batch.size());
+                job.recordError(e.getMessage());
+            }
+        }
+    }
+
+    private String clip(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private static class ImportJob {
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger requested = new AtomicInteger();
+        private final AtomicInteger fetched = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private final AtomicInteger skippedWithoutIsbn = new AtomicInteger();
+        private final AtomicInteger upserted = new AtomicInteger();
+        private final List<String> errors = new ArrayList<>();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void recordError(String error) {
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(String.valueOf(error));
+                }
+            }
+        }
+
+        private void finish(JobStatus finalStatus) {
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private GoogleBooksImportJobResponse toResponse() {
+            List<String> reportedErrors;
+            synchronized (errors) {
+                reportedErrors = List.copyOf(errors);
+            }
+
+            return new GoogleBooksImportJobResponse(
+                    id,
+                    status.name(),
+                    requested.get(),
+                    fetched.get(),
+                    failed.get(),
+                    duplicates.get(),
+                    skippedWithoutIsbn.get(),
+                    upserted.get(),
+                    reportedErrors,
+                    startedAt,
+                    finishedAt
+            );
+        }
+    }
+}
@@ -3,120 +3,207 @@ package com.bookhub.bookhub.service.external;
 import com.bookhub.bookhub.dto.book.response.BookResponse;
 import com.bookhub.bookhub.dto.google.GoogleBookItemResponse;
 import com.bookhub.bookhub.entity.Book;
+import com.bookhub.bookhub.entity.GoogleBooksCacheEntry;
 import com.bookhub.bookhub.exception.ExternalServiceException;
-import com.bookhub.bookhub.exception.ResourceNotFoundException;
 import com.bookhub.bookhub.factory.BookFactory;
 import com.bookhub.bookhub.repository.BookRepository;
-import lombok.Data;
+import com.bookhub.bookhub.repository.GoogleBooksCacheRepository;
+import com.bookhub.bookhub.service.availability.BookAvailabilityService;
+import com.bookhub.bookhub.service.cache.BookCacheService;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.Collections;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class GoogleBooksService {
-    private final RestTemplate restTemplate;
+    private static final String SEARCH_KEY_PREFIX = "search:";
+    private static final String VOLUME_KEY_PREFIX = "volume:";
+    private static final int MAX_PERSISTENT_KEY_LENGTH = 600;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final TypeReference<List<GoogleBookItemResponse>> ITEM_LIST = new TypeReference<>() {
+    };
+
+    private final GoogleBooksClient googleBooksClient;
     private final BookRepository bookRepository;
     private final BookFactory bookFactory;
+    private final GoogleBooksCacheRepository cacheRepository;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final BookCacheService bookCacheService;
+    private final BookAvailabilityService bookAvailabilityService;
 
-    @Value("${google.books.api-key}")
-    private String apiKey;
+    @Value("${google.books.cache.maximum-size}")
+    private long cacheMaximumSize;
 
-    @Value("${google.books.base-url}")
-    private String baseUrl;
+    @Value("${google.books.cache.ttl}")
+    private Duration cacheTtl;
 
-    public List<GoogleBookItemResponse> searchBooks(String query, int maxResults) {
-        try {
-            String url = buildSearchUrl(query, maxResults);
+    @Value("${google.books.cache.refresh-after}")
+    private Duration cacheRefreshAfter;
 
-            ResponseEntity<GoogleBooksSearchResponse> response = restTemplate.getForEntity(
-                    url, GoogleBooksSearchResponse.class
-            );
+    @Value("${google.books.cache.persistent.enabled}")
+    private boolean persistentCacheEnabled;
 
-            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                throw new ExternalServiceException(
-                        "Google Books API returned non-OK response: " + response.getStatusCode()
-                );
-            }
+    @Value("${google.books.cache.persistent.ttl}")
+    private Duration persistentCacheTtl;
 
-            List<GoogleBookItemResponse> items = response.getBody().getItems();
+    private final ExecutorService loaderExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-            if (items == null) {
-                return Collections.emptyList();
-            }
+    private AsyncLoadingCache<String, List<GoogleBookItemResponse>> searchCache;
+    private AsyncLoadingCache<String, GoogleBookItemResponse> volumeCache;
 
-            return items;
+    @PostConstruct
+    void initCaches() {
+        searchCache = buildCache(this::loadSearch);
+        volumeCache = buildCache(this::loadVolume);
 
-        } catch (HttpClientErrorException e) {
-            throw new ExternalServiceException("Google Books API error: " + e.getMessage(), e);
-        } catch (Exception e) {
-            throw new ExternalServiceException("Failed to search books: " + e.getMessage(), e);
-        }
+        CaffeineCacheMetrics.monitor(meterRegistry, searchCache, "googleBooksSearch");
+        CaffeineCacheMetrics.monitor(meterRegistry, volumeCache, "googleBooksVolume");
+    }
+
+    @PreDestroy
+    void shutdownLoaders() {
+        loaderExecutor.shutdownNow();
+    }
+
+    public List<GoogleBookItemResponse> searchBooks(String query, int maxResults) {
+        return await(searchCache.get(searchKey(query, maxResults)));
     }
 
     public GoogleBookItemResponse getBookById(String googleBookId) {
+        return await(volumeCache.get(VOLUME_KEY_PREFIX + googleBookId));
+    }
+
+    // Loads run on virtual threads outside the cache's internal map locks, so a slow Google call
+    // never pins a carrier thread or blocks other keys hashed to the same bin.
+    private <V> AsyncLoadingCache<String, V> buildCache(CacheLoader<String, V> loader) {
+        return Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(cacheRefreshAfter)
+                .executor(loaderExecutor)
+                .recordStats()
+                .buildAsync(loader);
+    }
+
+    private <V> V await(CompletableFuture<V> future) {
         try {
-            String url = UriComponentsBuilder
-                    .fromUriString(baseUrl + "/volumes/" + googleBookId)
-                    .queryParam("key", apiKey)
-                    .build()
-                    .toUriString();
-
-            ResponseEntity<GoogleBookItemResponse> response = restTemplate.getForEntity(
-                    url, GoogleBookItemResponse.class
-            );
-
-            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                throw new ResourceNotFoundException("Book not found in Google Books: " + googleBookId);
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
+        }
+    }
 
-            return response.getBody();
+    private String searchKey(String query, int maxResults) {
+        String normalizedQuery = query == null ? "" : WHITESPACE.matcher(query.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return SEARCH_KEY_PREFIX + Math.max(1, Math.min(maxResults, 40)) + ":" + normalizedQuery;
+    }
 
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new ResourceNotFoundException("Book not found in Google Books: " + googleBookId);
-        } catch (HttpClientErrorException e) {
-            throw new ExternalServiceException("Error fetching book: " + e.getMessage());
-        } catch (Exception e) {
-            throw new ExternalServiceException("Failed to fetch book: " + e.getMessage());
-        }
+    private List<GoogleBookItemResponse> loadSearch(String key) {
+        String[] parts = key.split(":", 3);
+        int maxResults = Integer.parseInt(parts[1]);
+        String query = parts[2];
+
+        return loadThroughPersistentCache(
+                key,
+                payload -> jsonMapper.readValue(payload, ITEM_LIST),
+                () -> List.copyOf(googleBooksClient.searchBooks(query, maxResults))
+        );
     }
 
-    @Transactional
-    public BookResponse importBookToLibrary(String googleBookId, int totalCopies) {
-        GoogleBookItemResponse googleBook = getBookById(googleBookId);
-        String isbn = extractIsbn(googleBook.getVolumeInfo());
+    private GoogleBookItemResponse loadVolume(String key) {
+        String googleBookId = key.substring(VOLUME_KEY_PREFIX.length());
+
+        return loadThroughPersistentCache(
+                key,
+                payload -> jsonMapper.readValue(payload, GoogleBookItemResponse.class),
+                () -> googleBooksClient.getBookById(googleBookId)
+        );
+    }
+
+    private <T> T loadThroughPersistentCache(String key, Function<String, T> deserializer, Supplier<T> remoteCall) {
+        if (!persistentCacheEnabled || key.length() > MAX_PERSISTENT_KEY_LENGTH) {
+            return remoteCall.get();
+        }
+
+        Optional<GoogleBooksCacheEntry> stored = cacheRepository.findById(key);
 
-        if (isbn != null) {
-            return  importExistingOrCreateNew(googleBook, isbn, totalCopies);
+        if (stored.isPresent() && isYoungerThan(stored.get(), cacheRefreshAfter)) {
+            return deserializer.apply(stored.get().getPayload());
         }
 
-        return createBookFromGoogle(googleBook, totalCopies);
+        try {
+            T value = remoteCall.get();
+            storeEntry(key, value);
+            return value;
+        } catch (ExternalServiceException e) {
+            if (stored.isPresent() && isYoungerThan(stored.get(), persistentCacheTtl)) {
+                log.warn("Google Books unavailable, serving stored response for {}: {}", key, e.getMessage());
+                return deserializer.apply(stored.get().getPayload());
+            }
+            throw e;
+        }
+    }
+
+    private boolean isYoungerThan(GoogleBooksCacheEntry entry, Duration age) {
+        return entry.getFetchedAt().isAfter(LocalDateTime.now().minus(age));
     }
 
-    private BookResponse importExistingOrCreateNew(GoogleBookItemResponse googleBook, String isbn, int totalCopies) {
-        return bookRepository.findByIsbn(isbn)
-                .map(book -> incrementBookCopies(book, totalCopies))
-                .orElseGet(() -> createBookFromGoogle(googleBook, totalCopies));
+    private void storeEntry(String key, Object value) {
+        GoogleBooksCacheEntry entry = new GoogleBooksCacheEntry();
+        entry.setCacheKey(key);
+        entry.setPayload(jsonMapper.writeValueAsString(value));
+        entry.setFetchedAt(LocalDateTime.now());
+        cacheRepository.save(entry);
     }
 
-    private BookResponse incrementBookCopies(Book book, int totalCopies) {
-        book.setTotalCopies(book.getTotalCopies() + totalCopies);
-        book.setAvailableCopies(book.getAvailableCopies() + totalCopies);
-        return new BookResponse(bookRepository.save(book));
+    public BookResponse importBookToLibrary(String googleBookId, int totalCopies) {
+        GoogleBookItemResponse googleBook = getBookById(googleBookId);
+        Book book = toBook(googleBook, totalCopies);
+
+        if (book.getIsbn() == null || book.getIsbn().isEmpty()) {
+            book.setIsbn(null);
+            Book saved = bookRepository.save(book);
+
+            return new BookResponse(saved);
+        }
+
+        Book upserted = bookRepository.upsertByIsbn(book);
+        bookCacheService.evict(upserted.getId(), upserted.getIsbn());
+        bookAvailabilityService.onCopiesAdjusted(upserted.getId(), book.getAvailableCopies());
+
+        return new BookResponse(upserted);
     }
 
-    private BookResponse createBookFromGoogle(GoogleBookItemResponse googleBook, int totalCopies) {
+    Book toBook(GoogleBookItemResponse googleBook, int totalCopies) {
         GoogleBookItemResponse.VolumeInfo info = googleBook.getVolumeInfo();
 
         String title = info.getTitle();
@@ -124,11 +211,10 @@ public class GoogleBooksService {
         String isbn = extractIsbn(info);
         Integer year = extractPublicationYear(info);
 
-        Book book = bookFactory.createBookWithCopies(title, author, isbn, year, totalCopies);
-        return new BookResponse(bookRepository.save(book));
+        return bookFactory.createBookWithCopies(title, author, isbn, year, totalCopies);
     }
 
-    private String extractIsbn(GoogleBookItemResponse.VolumeInfo volumeInfo) {
+    String extractIsbn(GoogleBookItemResponse.VolumeInfo volumeInfo) {
         if (volumeInfo.getIndustryIdentifiers() == null) {
             return null;
         }
@@ -169,19 +255,4 @@ public class GoogleBooksService {
             return null;
         }
     }
-
-    private String buildSearchUrl(String query, int maxResults) {
-        return UriComponentsBuilder.fromUriString(baseUrl + "/volumes")
-                .queryParam("q", query)
-                .queryParam("maxResults", Math.min(maxResults, 40))
-                .queryParam("key", apiKey)
-                .queryParam("printType", "books")
-                .build()
-                .toUriString();
-    }
-
-    @Data
-    private static class GoogleBooksSearchResponse {
-        private List<GoogleBookItemResponse> items;
-    }
 }
@@ -2,24 +2,56 @@ package com.bookhub.bookhub.service.impl;
 
 import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
 import com.bookhub.bookhub.dto.book.request.BookUpdateRequest;
+import com.bookhub.bookhub.dto.book.response.BookAvailabilityResponse;
+import com.bookhub.bookhub.dto.book.response.BookPageResponse;
 import com.bookhub.bookhub.dto.book.response.BookResponse;
 import com.bookhub.bookhub.entity.Book;
 import com.bookhub.bookhub.factory.BookFactory;
 import com.bookhub.bookhub.repository.BookRepository;
+import com.bookhub.bookhub.repository.LoanRepository;
 import com.bookhub.bookhub.service.BookService;
+import com.bookhub.bookhub.service.availability.BookAvailabilityService;
+import com.bookhub.bookhub.service.cache.BookCacheService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern ISBN_HYPHEN = Pattern.compile("(?<=\\d)-(?=[\\dX])");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final BookRepository bookRepository;
+    private final LoanRepository loanRepository;
     private final BookFactory bookFactory;
+    private final EntityManager entityManager;
+    private final BookCacheService bookCacheService;
+    private final BookAvailabilityService bookAvailabilityService;
+
+    @Value("${books.page.default-size}")
+    private int defaultPageSize;
+
+    @Value("${books.page.max-size}")
+    private int maxPageSize;
 
     @Override
     public BookResponse createBook(BookCreateRequest bookRequest) {
@@ -60,6 +92,9 @@ public class BookServiceImpl implements BookService {
         }
 
         Book updatedBook = bookRepository.save(book);
+        bookCacheService.evict(updatedBook.getId(), updatedBook.getIsbn());
+        // The save writes back the copies of the entity read above rather than a delta, so the entry is reloaded.
+        bookAvailabilityService.onBookSaved(updatedBook.getId());
 
         return new BookResponse(updatedBook);
     }
@@ -69,44 +104,144 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found: " + id));
 
-        if (!book.getLoans().isEmpty()) {
+        if (loanRepository.existsByBookId(id)) {
             throw new IllegalArgumentException("It is not possible to delete a book with active loans. ID: " + id);
         }
 
         bookRepository.delete(book);
+        bookCacheService.evict(book.getId(), book.getIsbn());
+        bookAvailabilityService.onBookDeleted(book.getId());
     }
 
+    // Deliberately not read-only: an availability entry missing from the in-memory table was just
+    // invalidated by a commit, and a replica may not have that commit yet, so the fallback reads the primary.
     @Override
     public Optional<BookResponse> getBookById(Long id) {
-        return bookRepository.findById(id)
-                .map(BookResponse::new);
+        return Optional.ofNullable(bookCacheService.findById(id))
+                .flatMap(this::withCurrentAvailability);
     }
 
     @Override
-    public List<BookResponse> getAllBooks() {
-        return bookRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public BookPageResponse getAllBooks(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        long afterId = decodeCursor(cursor);
+
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = books.size() > pageSize;
+        List<Book> page = hasMore ? books.subList(0, pageSize) : books;
+
+        List<BookResponse> items = page.stream()
                 .map(BookResponse::new)
                 .toList();
+        String next = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+
+        return new BookPageResponse(items, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllBooks(Consumer<BookResponse> consumer) {
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            books.forEach(book -> {
+                consumer.accept(new BookResponse(book));
+                entityManager.detach(book);
+            });
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        return Math.min(size, maxPageSize);
+    }
+
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 
     @Override
-    public List<BookResponse> searchBooks(String keyword) {
-        return bookRepository.findByTitleContainingIgnoreCase(keyword).stream()
+    @Transactional(readOnly = true)
+    public List<BookResponse> searchBooks(String keyword, int page, Integer size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+
+        int pageSize = resolvePageSize(size);
+        String normalized = normalizeSearchText(keyword);
+        String tsQuery = buildPrefixQuery(normalized);
+
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+
+        String isbn = normalized.replace(" ", "").toUpperCase(Locale.ROOT);
+
+        return bookRepository.searchCatalog(tsQuery, isbn, pageSize, (long) page * pageSize).stream()
                 .map(BookResponse::new)
                 .toList();
     }
 
+    private String normalizeSearchText(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+
+        String withoutHyphens = ISBN_HYPHEN.matcher(keyword.trim().toUpperCase(Locale.ROOT)).replaceAll("");
+        String decomposed = Normalizer.normalize(withoutHyphens, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private String buildPrefixQuery(String normalized) {
+        return Arrays.stream(TOKEN_SEPARATOR.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<BookResponse> getBooksByAuthor(String author) {
         return bookRepository.findByAuthor(author).stream()
                 .map(BookResponse::new)
                 .toList();
     }
 
+    // Not read-only, see getBookById.
     @Override
     public Optional<BookResponse> getBookByIsbn(String isbn) {
-        return bookRepository.findByIsbn(isbn)
-                .map(BookResponse::new);
+        return Optional.ofNullable(bookCacheService.findByIsbn(isbn))
+                .flatMap(this::withCurrentAvailability);
+    }
+
+    // Cached entries only hold catalog data; available copies come from the availability table,
+    // which is only updated after a checkout, return or copy change commits.
+    private Optional<BookResponse> withCurrentAvailability(BookResponse cached) {
+        OptionalInt availableCopies = bookAvailabilityService.getAvailableCopies(cached.getId());
+
+        return availableCopies.isPresent()
+                ? Optional.of(cached.withAvailableCopies(availableCopies.getAsInt()))
+                : Optional.empty();
     }
 
     @Override
@@ -118,10 +253,9 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found: " + bookId));
 
-        book.setAvailableCopies(book.getAvailableCopies() + quantity);
-        book.setTotalCopies(book.getTotalCopies() + quantity);
-
-        bookRepository.save(book);
+        bookRepository.adjustCopies(bookId, quantity);
+        bookCacheService.evict(book.getId(), book.getIsbn());
+        bookAvailabilityService.onCopiesAdjusted(book.getId(), quantity);
     }
 
     @Override
@@ -133,16 +267,23 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found: " + bookId));
 
-        book.setAvailableCopies(book.getAvailableCopies() - quantity);
-        book.setTotalCopies(book.getTotalCopies() - quantity);
-
-        bookRepository.save(book);
+        if (bookRepository.adjustCopies(bookId, -quantity) == 0) {
+            throw new IllegalStateException("Only " + book.getAvailableCopies() + " copies available to remove from book: " + bookId);
+        }
+        bookCacheService.evict(book.getId(), book.getIsbn());
+        bookAvailabilityService.onCopiesAdjusted(book.getId(), -quantity);
     }
 
+    // Not read-only, see getBookById.
     @Override
     public boolean isBookAvailable(Long bookId) {
-        return bookRepository.findById(bookId)
-                .map(Book::isAvailable)
-                .orElse(false);
+        OptionalInt availableCopies = bookAvailabilityService.getAvailableCopies(bookId);
+        return availableCopies.isPresent() && availableCopies.getAsInt() > 0;
+    }
+
+    // Not read-only, see getBookById.
+    @Override
+    public List<BookAvailabilityResponse> getAvailability(List<Long> bookIds) {
+        return bookAvailabilityService.getAvailability(bookIds.stream().distinct().toList());
     }
 }
@@ -1,6 +1,10 @@
 package com.bookhub.bookhub.service.impl;
 
+import com.bookhub.bookhub.dto.loan.request.LoanBatchCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanBatchMode;
+import com.bookhub.bookhub.dto.loan.request.LoanBatchReturnRequest;
 import com.bookhub.bookhub.dto.loan.request.LoanCreateRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanBatchResponse;
 import com.bookhub.bookhub.dto.loan.response.LoanResponse;
 import com.bookhub.bookhub.entity.Book;
 import com.bookhub.bookhub.entity.Loan;
@@ -11,14 +15,22 @@ import com.bookhub.bookhub.repository.BookRepository;
 import com.bookhub.bookhub.repository.LoanRepository;
 import com.bookhub.bookhub.repository.UserRepository;
 import com.bookhub.bookhub.service.LoanService;
+import com.bookhub.bookhub.service.availability.BookAvailabilityService;
+import com.bookhub.bookhub.service.metrics.LoanMetrics;
 import com.bookhub.bookhub.service.validation.LoanValidationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @Transactional
@@ -29,21 +41,23 @@ public class LoanServiceImpl implements LoanService {
     private final UserRepository userRepository;
     private final LoanValidationService validationService;
     private final LoanFactory loanFactory;
+    private final BookAvailabilityService bookAvailabilityService;
+    private final LoanMetrics loanMetrics;
 
     @Override
     public LoanResponse createLoan(LoanCreateRequest loanRequest) {
         validateLoanDays(loanRequest.getLoanDays());
 
         User user = findUser(loanRequest.getUserId());
-        Book book = findBook(loanRequest.getBookId());
-
         validationService.validateUserCanBorrow(user);
-        validateBookAvailable(book);
+
+        reserveCopy(loanRequest.getBookId());
+        Book book = findBook(loanRequest.getBookId());
 
         Loan loan = loanFactory.createLoan(user, book, loanRequest.getLoanDays());
-        book.borrow();
 
         Loan savedLoan = loanRepository.save(loan);
+        loanMetrics.onLoansCreated(1);
 
         return new LoanResponse(savedLoan);
     }
@@ -66,10 +80,11 @@ public class LoanServiceImpl implements LoanService {
                 .orElseThrow(() -> new ResourceNotFoundException("Book", bookId));
     }
 
-    private void validateBookAvailable(Book book) {
-        if (!book.isAvailable()) {
-            throw new IllegalStateException("Book not available: " + book.getTitle());
+    private void reserveCopy(Long bookId) {
+        if (bookRepository.decrementAvailableCopies(bookId) == 0) {
+            throw new IllegalStateException("Book not available: " + findBook(bookId).getTitle());
         }
+        bookAvailabilityService.onCopyReserved(bookId);
     }
 
 
@@ -81,6 +96,7 @@ public class LoanServiceImpl implements LoanService {
         processReturn(loan);
 
         Loan returnedLoan = loanRepository.save(loan);
+        loanMetrics.onLoansReturned(1);
         return new LoanResponse(returnedLoan);
     }
 
@@ -102,10 +118,120 @@ public class LoanServiceImpl implements LoanService {
 
         loan.setStatus(Loan.LoanStatus.RETURNED);
 
-        loan.getBook().returnBook();
+        Long bookId = loan.getBook().getId();
+        if (bookRepository.incrementAvailableCopies(bookId) > 0) {
+            bookAvailabilityService.onCopyReleased(bookId);
+        }
+    }
+
+
+
+    @Override
+    public LoanBatchResponse createLoans(LoanBatchCreateRequest batchRequest) {
+        validateLoanDays(batchRequest.getLoanDays());
+        boolean allOrNothing = batchRequest.getMode() != LoanBatchMode.BEST_EFFORT;
+        List<Long> bookIds = batchRequest.getBookIds();
+
+        User user = findUser(batchRequest.getUserId());
+        int remainingSlots = validationService.validateUserCanBorrow(user);
+
+        if (allOrNothing && bookIds.size() > remainingSlots) {
+            throw new IllegalStateException(
+                    "Batch exceeds loan limit. Requested: " + bookIds.size() + ", available slots: " + remainingSlots
+            );
+        }
+
+        LoanBatchResponse.ItemResult[] results = new LoanBatchResponse.ItemResult[bookIds.size()];
+        List<Integer> reservedPositions = new ArrayList<>();
+
+        for (int position : positionsSortedBy(bookIds, Function.identity())) {
+            Long bookId = bookIds.get(position);
+
+            if (reservedPositions.size() >= remainingSlots) {
+                results[position] = LoanBatchResponse.ItemResult.failure(bookId, "Loan limit reached");
+            } else if (bookRepository.decrementAvailableCopies(bookId) > 0) {
+                bookAvailabilityService.onCopyReserved(bookId);
+                reservedPositions.add(position);
+            } else {
+                results[position] = LoanBatchResponse.ItemResult.failure(bookId, unavailableReason(bookId, allOrNothing));
+            }
+        }
+
+        Map<Long, Book> books = bookRepository.findAllById(reservedPositions.stream().map(bookIds::get).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        List<Loan> loans = reservedPositions.stream()
+                .map(position -> loanFactory.createLoan(user, books.get(bookIds.get(position)), batchRequest.getLoanDays()))
+                .toList();
+        List<Loan> savedLoans = loanRepository.saveAll(loans);
+        loanMetrics.onLoansCreated(savedLoans.size());
+
+        for (int i = 0; i < reservedPositions.size(); i++) {
+            int position = reservedPositions.get(i);
+            results[position] = LoanBatchResponse.ItemResult.success(bookIds.get(position), new LoanResponse(savedLoans.get(i)));
+        }
+
+        return new LoanBatchResponse(Arrays.asList(results));
     }
 
+    private String unavailableReason(Long bookId, boolean allOrNothing) {
+        if (!bookRepository.existsById(bookId)) {
+            if (allOrNothing) {
+                throw new ResourceNotFoundException("Book", bookId);
+            }
+            return "Book not found with ID: " + bookId;
+        }
 
+        if (allOrNothing) {
+            throw new IllegalStateException("Book not available: " + bookId);
+        }
+        return "Book not available";
+    }
+
+    @Override
+    public LoanBatchResponse returnLoans(LoanBatchReturnRequest batchRequest) {
+        boolean allOrNothing = batchRequest.getMode() != LoanBatchMode.BEST_EFFORT;
+        List<Long> loanIds = batchRequest.getLoanIds();
+
+        Map<Long, Loan> loans = loanRepository.findAllWithUserAndBookByIdIn(loanIds).stream()
+                .collect(Collectors.toMap(Loan::getId, Function.identity()));
+
+        LoanBatchResponse.ItemResult[] results = new LoanBatchResponse.ItemResult[loanIds.size()];
+        int returned = 0;
+        Function<Long, Long> bookOfLoan = loanId -> loans.containsKey(loanId) ? loans.get(loanId).getBook().getId() : 0L;
+
+        for (int position : positionsSortedBy(loanIds, bookOfLoan)) {
+            Long loanId = loanIds.get(position);
+            Loan loan = loans.get(loanId);
+
+            if (loan == null) {
+                if (allOrNothing) {
+                    throw new ResourceNotFoundException("Loan", loanId);
+                }
+                results[position] = LoanBatchResponse.ItemResult.failure(loanId, "Loan not found with ID: " + loanId);
+            } else if (loan.getStatus() == Loan.LoanStatus.RETURNED) {
+                if (allOrNothing) {
+                    validateLoanCanBeReturned(loan);
+                }
+                results[position] = LoanBatchResponse.ItemResult.failure(loanId, "Loan already returned on: " + loan.getReturnDate());
+            } else {
+                processReturn(loan);
+                returned++;
+                results[position] = LoanBatchResponse.ItemResult.success(loanId, new LoanResponse(loan));
+            }
+        }
+
+        loanMetrics.onLoansReturned(returned);
+        return new LoanBatchResponse(Arrays.asList(results));
+    }
+
+    private List<Integer> positionsSortedBy(List<Long> ids, Function<Long, Long> lockKey) {
+        return IntStream.range(0, ids.size())
+                .boxed()
+                .sorted(Comparator.comparing(position -> lockKey.apply(ids.get(position))))
+                .toList();
+    }
 
     @Override
     public LoanResponse extendLoan(Long loanId, int additionalDays) {
@@ -117,6 +243,7 @@ public class LoanServiceImpl implements LoanService {
         processExtension(loan, additionalDays);
 
         Loan extendedLoan = loanRepository.save(loan);
+        loanMetrics.onLoanExtended();
 
         return new LoanResponse(extendedLoan);
     }
@@ -163,24 +290,23 @@ public class LoanServiceImpl implements LoanService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LoanResponse> getActiveLoansByUser(Long userId) {
-        User user = findUser(userId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
 
-        return loanRepository.findByUserIdAndStatus(userId, Loan.LoanStatus.ACTIVE)
-                .stream()
-                .map(LoanResponse::new)
-                .collect(Collectors.toList());
+        return loanRepository.findResponsesByUserIdAndStatusNot(userId, Loan.LoanStatus.RETURNED);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LoanResponse> getOverdueLoans() {
-        return loanRepository.findByStatus(Loan.LoanStatus.OVERDUE)
-                .stream()
-                .map(LoanResponse::new)
-                .collect(Collectors.toList());
+        return loanRepository.findResponsesByStatus(Loan.LoanStatus.OVERDUE);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isLoanOverdue(Long loanId) {
         return validationService.isLoanOverdue(findLoan(loanId));
     }
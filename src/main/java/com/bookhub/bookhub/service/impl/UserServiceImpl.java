@@ -7,12 +7,19 @@ import com.bookhub.bookhub.entity.Loan;
 import com.bookhub.bookhub.entity.User;
 import com.bookhub.bookhub.exception.ResourceNotFoundException;
 import com.bookhub.bookhub.factory.UserFactory;
+import com.bookhub.bookhub.repository.LoanRepository;
 import com.bookhub.bookhub.repository.UserRepository;
+import com.bookhub.bookhub.service.TokenCacheService;
 import com.bookhub.bookhub.service.UserService;
+import com.bookhub.bookhub.service.cache.UserCacheService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,13 +27,21 @@ import java.util.Optional;
 @Transactional
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final LoanRepository loanRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserFactory userFactory;
+    private final TokenCacheService tokenCacheService;
+    private final UserCacheService userCacheService;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, UserFactory userFactory) {
+    public UserServiceImpl(UserRepository userRepository, LoanRepository loanRepository, PasswordEncoder passwordEncoder,
+                           UserFactory userFactory, TokenCacheService tokenCacheService,
+                           UserCacheService userCacheService) {
         this.userRepository = userRepository;
+        this.loanRepository = loanRepository;
         this.passwordEncoder = passwordEncoder;
         this.userFactory = userFactory;
+        this.tokenCacheService = tokenCacheService;
+        this.userCacheService = userCacheService;
     }
 
     @Override
@@ -59,7 +74,9 @@ public class UserServiceImpl implements UserService {
             user.setPassword(encryptedPassword);
         }
 
+        invalidateTokens(user);
         User updatedUser = userRepository.save(user);
+        invalidateAfterCommit(updatedUser.getId(), updatedUser.getEmail());
 
         return new UserResponse(updatedUser);
     }
@@ -69,29 +86,30 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", id));
 
-        boolean hasActiveLoans = user.getLoans().stream()
-                .anyMatch(loan -> loan.getStatus() == Loan.LoanStatus.ACTIVE);
+        boolean hasOpenLoans = loanRepository.existsByUserIdAndStatusNot(id, Loan.LoanStatus.RETURNED);
 
-        if (hasActiveLoans) {
-            throw new IllegalStateException("It is not possible to delete a user with active loans");
+        if (hasOpenLoans) {
+            throw new IllegalStateException("It is not possible to delete a user with active or overdue loans");
         }
 
         userRepository.delete(user);
+        invalidateAfterCommit(user.getId(), user.getEmail());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserResponse> getUserById(Long id) {
-        return userRepository.findById(id)
-                .map(UserResponse::new);
+        return Optional.ofNullable(userCacheService.findById(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserResponse> getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .map(UserResponse::new);
+        return Optional.ofNullable(userCacheService.findByEmail(email));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(UserResponse::new)
@@ -99,6 +117,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -109,9 +128,37 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
 
         user.setRole(newRole);
+        invalidateTokens(user);
 
         User updatedUser = userRepository.save(user);
+        invalidateAfterCommit(updatedUser.getId(), updatedUser.getEmail());
 
         return new UserResponse(updatedUser);
     }
+
+    // iat has second precision, so only tokens issued in an earlier second are rejected
+    private void invalidateTokens(User user) {
+        user.setTokensValidAfter(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // Revoking or evicting before commit lets a concurrent request reload the old row and cache it again,
+    // so both run once the change is visible.
+    private void invalidateAfterCommit(Long id, String email) {
+        Runnable invalidate = () -> {
+            tokenCacheService.revokeUser(email);
+            userCacheService.evict(id, email);
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,117 @@
+package com.bookhub.bookhub.service.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+@Component
+@Slf4j
+public class OverdueLoanJob {
+    private static final long LOCK_KEY = 0x4F56455244554EL;
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?)";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?)";
+
+    private static final String MARK_OVERDUE_BATCH = """
+            UPDATE loan SET status = 'OVERDUE'
+            WHERE id IN (
+                SELECT id FROM loan
+                WHERE status = 'ACTIVE' AND due_date < ?
+                ORDER BY due_date
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter loansMarkedOverdue;
+    private final Timer runTimer;
+    private final int batchSize;
+
+    public OverdueLoanJob(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${loans.overdue-job.batch-size}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.loansMarkedOverdue = Counter.builder("loans.overdue.marked")
+                .description("Loans moved from ACTIVE to OVERDUE by the overdue job")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("loans.overdue.job")
+                .description("Duration of overdue job runs")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${loans.overdue-job.cron}")
+    public void markOverdueLoans() {
+        LocalDate today = LocalDate.now();
+
+        Integer updated = runTimer.record(() ->
+                jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> runExclusively(connection, today))
+        );
+
+        if (updated != null && updated > 0) {
+            loansMarkedOverdue.increment(updated);
+            log.info("Marked {} loans as overdue", updated);
+        }
+    }
+
+    private Integer runExclusively(Connection connection, LocalDate today) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+
+        try {
+            if (!callLockFunction(connection, TRY_LOCK)) {
+                log.info("Overdue job already running on another instance, skipping");
+                return 0;
+            }
+
+            try {
+                return markInBatches(connection, today);
+            } finally {
+                callLockFunction(connection, UNLOCK);
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private int markInBatches(Connection connection, LocalDate today) throws SQLException {
+        int total = 0;
+        int updated;
+
+        try (PreparedStatement statement = connection.prepareStatement(MARK_OVERDUE_BATCH)) {
+            do {
+                statement.setObject(1, today);
+                statement.setInt(2, batchSize);
+                updated = statement.executeUpdate();
+                total += updated;
+            } while (updated == batchSize);
+        }
+
+        return total;
+    }
+
+    private boolean callLockFunction(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookhub.bookhub.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class LoanMetrics {
+    private final Counter loansCreated;
+    private final Counter loansReturned;
+    private final Counter loansExtended;
+
+    public LoanMetrics(MeterRegistry meterRegistry) {
+        this.loansCreated = Counter.builder("loans.created")
+                .description("Loans created, counted once their transaction commits")
+                .register(meterRegistry);
+        this.loansReturned = Counter.builder("loans.returned")
+                .description("Loans returned, counted once their transaction commits")
+                .register(meterRegistry);
+        this.loansExtended = Counter.builder("loans.extended")
+                .description("Loan renewals, counted once their transaction commits")
+                .register(meterRegistry);
+    }
+
+    public void onLoansCreated(int count) {
+        afterCommit(loansCreated, count);
+    }
+
+    public void onLoansReturned(int count) {
+        afterCommit(loansReturned, count);
+    }
+
+    public void onLoanExtended() {
+        afterCommit(loansExtended, 1);
+    }
+
+    private void afterCommit(Counter counter, int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment(count);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment(count);
+            }
+        });
+    }
+}
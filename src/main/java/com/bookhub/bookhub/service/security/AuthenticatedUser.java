@@ -0,0 +1,57 @@
+package com.bookhub.bookhub.service.security;
+
+import com.bookhub.bookhub.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final User.Role role;
+    private final List<GrantedAuthority> authorities;
+    private String password;
+
+    public AuthenticatedUser(Long id, String name, String email, User.Role role, String password) {
+        if (role == null) {
+            throw new IllegalStateException("User role cannot be null");
+        }
+
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.password = password;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getName(), user.getEmail(), user.getRole(), user.getPassword());
+    }
+
+    public AuthenticatedUser withPassword(String newPassword) {
+        return new AuthenticatedUser(id, name, email, role, newPassword);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
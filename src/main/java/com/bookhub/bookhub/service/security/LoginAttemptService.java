@@ -0,0 +1,76 @@
+package com.bookhub.bookhub.service.security;
+
+import com.bookhub.bookhub.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class LoginAttemptService {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.login.max-failures-per-account}")
+    private int maxFailuresPerAccount;
+
+    @Value("${security.login.max-failures-per-ip}")
+    private int maxFailuresPerIp;
+
+    @Value("${security.login.window}")
+    private Duration window;
+
+    private Cache<String, AtomicInteger> accountFailures;
+    private Cache<String, AtomicInteger> ipFailures;
+
+    @PostConstruct
+    void initCounters() {
+        accountFailures = buildCounters();
+        ipFailures = buildCounters();
+    }
+
+    public void checkAllowed(String email, String clientIp) {
+        if (exceeded(accountFailures, accountKey(email), maxFailuresPerAccount)) {
+            meterRegistry.counter("auth.login.throttled", "scope", "account").increment();
+            throw new TooManyRequestsException("Too many failed login attempts for this account, try again later", window);
+        }
+
+        if (exceeded(ipFailures, clientIp, maxFailuresPerIp)) {
+            meterRegistry.counter("auth.login.throttled", "scope", "ip").increment();
+            throw new TooManyRequestsException("Too many failed login attempts from this address, try again later", window);
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        accountFailures.get(accountKey(email), key -> new AtomicInteger()).incrementAndGet();
+        ipFailures.get(clientIp, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void recordSuccess(String email) {
+        accountFailures.invalidate(accountKey(email));
+    }
+
+    // Counters expire a fixed window after the first failure; incrementing in place does not count as a write.
+    private Cache<String, AtomicInteger> buildCounters() {
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    private boolean exceeded(Cache<String, AtomicInteger> counters, String key, int limit) {
+        AtomicInteger failures = counters.getIfPresent(key);
+        return failures != null && failures.get() >= limit;
+    }
+
+    private String accountKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bookhub.bookhub.service.security;
+
+import com.bookhub.bookhub.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Checks bearer tokens against the tokens_valid_after column of their user, which every instance reads,
+ * so a role change, password change or deletion made on one node is enforced on all of them within the
+ * cache TTL. A token whose user no longer exists is never valid.
+ */
+@Service
+public class TokenValidityService {
+    private final LoadingCache<String, Optional<Instant>> validAfter;
+
+    public TokenValidityService(
+            UserRepository userRepository,
+            @Value("${jwt.cache.maximum-size}") long maximumSize,
+            @Value("${jwt.validity.cache-ttl}") Duration cacheTtl
+    ) {
+        this.validAfter = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(cacheTtl)
+                .build(userRepository::findTokensValidAfterByEmail);
+    }
+
+    public boolean isValid(String username, Instant issuedAt) {
+        Optional<Instant> cutoff = validAfter.get(username);
+        return cutoff.isPresent() && issuedAt != null && !issuedAt.isBefore(cutoff.get());
+    }
+
+    public void evict(String username) {
+        validAfter.invalidate(username);
+    }
+}
@@ -14,7 +14,7 @@ public class BookValidationService {
         }
 
         boolean hasActiveLoans = book.getLoans().stream()
-                .anyMatch(loan -> loan.getStatus() == Loan.LoanStatus.ACTIVE);
+                .anyMatch(loan -> loan.getStatus() != Loan.LoanStatus.RETURNED);
 
         if (hasActiveLoans) {
             throw new IllegalStateException(
@@ -2,6 +2,8 @@ package com.bookhub.bookhub.service.validation;
 
 import com.bookhub.bookhub.entity.Loan;
 import com.bookhub.bookhub.entity.User;
+import com.bookhub.bookhub.repository.LoanRepository;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,11 +11,17 @@ import java.time.LocalDate;
 
 @Service
 @Transactional(readOnly = true)
+@RequiredArgsConstructor
 public class LoanValidationService {
-    public void validateUserCanBorrow(User user) {
+    private static final int MAX_ACTIVE_LOANS = 5;
+
+    private final LoanRepository loanRepository;
+
+    // Returns how many more loans the user may open, so batch checkouts don't count them a second time.
+    public int validateUserCanBorrow(User user) {
         validateUserRole(user);
         validateNoOverdueLoans(user);
-        validateLoanLimit(user);
+        return validateLoanLimit(user);
     }
 
     private void validateUserRole(User user) {
@@ -24,22 +32,22 @@ public class LoanValidationService {
     }
 
     private void validateNoOverdueLoans(User user) {
-        boolean hasOverdue = user.getLoans().stream()
-                .anyMatch(this::isLoanOverdue);
+        boolean hasOverdue = loanRepository.existsByUserIdAndStatus(user.getId(), Loan.LoanStatus.OVERDUE) ||
+                loanRepository.existsByUserIdAndStatusAndDueDateBefore(user.getId(), Loan.LoanStatus.ACTIVE, LocalDate.now());
 
         if (hasOverdue) {
             throw new IllegalStateException("User has overdue loans");
         }
     }
 
-    private void validateLoanLimit(User user) {
-        long activeCount = user.getLoans().stream()
-                .filter(loan -> loan.getStatus() == Loan.LoanStatus.ACTIVE)
-                .count();
+    private int validateLoanLimit(User user) {
+        long activeCount = loanRepository.countByUserIdAndStatusNot(user.getId(), Loan.LoanStatus.RETURNED);
 
-        if (activeCount >= 5) {
-            throw new IllegalStateException("Limit of 5 active loans reached. Current: " + activeCount);
+        if (activeCount >= MAX_ACTIVE_LOANS) {
+            throw new IllegalStateException("Limit of " + MAX_ACTIVE_LOANS + " active loans reached. Current: " + activeCount);
         }
+
+        return (int) (MAX_ACTIVE_LOANS - activeCount);
     }
 
     public boolean isLoanOverdue(Loan loan) {
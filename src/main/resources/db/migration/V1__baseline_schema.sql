@@ -0,0 +1,60 @@
+-- Baseline of the schema previously created by ddl-auto=update. Every statement is idempotent so the
+-- migration also applies cleanly to databases that were created before Flyway was introduced.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS book_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS loan_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT       NOT NULL PRIMARY KEY,
+    name     VARCHAR(255),
+    email    VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    role     VARCHAR(255) NOT NULL CHECK (role IN ('READER', 'LIBRARIAN'))
+);
+
+CREATE TABLE IF NOT EXISTS book (
+    id               BIGINT       NOT NULL PRIMARY KEY,
+    title            VARCHAR(200) NOT NULL,
+    author           VARCHAR(100) NOT NULL,
+    isbn             VARCHAR(20) UNIQUE,
+    total_copies     INTEGER DEFAULT 1,
+    available_copies INTEGER DEFAULT 1,
+    publication_year INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS loan (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    user_id       BIGINT       NOT NULL REFERENCES users (id),
+    book_id       BIGINT       NOT NULL REFERENCES book (id),
+    loan_date     DATE         NOT NULL,
+    due_date      DATE         NOT NULL,
+    return_date   DATE,
+    status        VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'RETURNED', 'OVERDUE')),
+    renewal_count INTEGER      NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS google_books_cache (
+    cache_key  VARCHAR(600) NOT NULL PRIMARY KEY,
+    payload    TEXT         NOT NULL,
+    fetched_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_loan_user_status ON loan (user_id, status);
+CREATE INDEX IF NOT EXISTS idx_loan_book_status ON loan (book_id, status);
+CREATE INDEX IF NOT EXISTS idx_loan_status_due_date ON loan (status, due_date);
+CREATE INDEX IF NOT EXISTS idx_book_author ON book (author);
+CREATE INDEX IF NOT EXISTS idx_book_publication_year ON book (publication_year);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_book_title_trgm ON book USING gin (title gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent', $1) $$;
+
+CREATE INDEX IF NOT EXISTS idx_book_search ON book USING gin (
+    to_tsvector('simple', f_unaccent(coalesce(title, '') || ' ' || coalesce(author, '') || ' ' || coalesce(isbn, '')))
+);
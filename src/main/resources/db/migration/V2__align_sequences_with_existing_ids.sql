@@ -0,0 +1,8 @@
+-- V1 creates the sequences at 1 when they are missing, but databases baselined from ddl-auto=update may
+-- already hold rows. Move each sequence past the highest existing id so Hibernate's pooled optimizer,
+-- which treats nextval as the top of a 50-id block, never hands out an id that is taken. A sequence that
+-- is already ahead is left where it is.
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM users), (SELECT last_value FROM users_seq), 1));
+SELECT setval('book_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM book), (SELECT last_value FROM book_seq), 1));
+SELECT setval('loan_seq', GREATEST((SELECT COALESCE(max(id), 0) FROM loan), (SELECT last_value FROM loan_seq), 1));
@@ -0,0 +1,6 @@
+-- Tokens issued before this instant are rejected. Role, password and profile changes move it forward so
+-- every instance stops honouring the old tokens, including the claims they carry.
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP(6) WITH TIME ZONE NOT NULL
+        DEFAULT TIMESTAMP WITH TIME ZONE 'epoch';
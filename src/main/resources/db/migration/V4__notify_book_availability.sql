@@ -0,0 +1,20 @@
+-- Publishes the id of every book whose available_copies changes or that is deleted on the book_availability
+-- channel, so each instance drops its in-memory copy no matter which instance, job or script made the change.
+-- pg_notify is transactional: listeners only receive the id once the change is committed.
+
+CREATE OR REPLACE FUNCTION notify_book_availability() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('book_availability', OLD.id::text);
+    ELSIF NEW.available_copies IS DISTINCT FROM OLD.available_copies THEN
+        PERFORM pg_notify('book_availability', NEW.id::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS book_availability_notify ON book;
+
+CREATE TRIGGER book_availability_notify
+    AFTER UPDATE OF available_copies OR DELETE ON book
+    FOR EACH ROW EXECUTE FUNCTION notify_book_availability();
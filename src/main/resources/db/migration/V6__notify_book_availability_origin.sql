@@ -0,0 +1,14 @@
+-- Adds the application_name of the session that made the change to the book_availability payload, as
+-- "<book id>:<application_name>", so an instance can skip the notifications for its own changes, which it
+-- already applied to its in-memory table when they committed.
+
+CREATE OR REPLACE FUNCTION notify_book_availability() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('book_availability', OLD.id::text || ':' || current_setting('application_name'));
+    ELSIF NEW.available_copies IS DISTINCT FROM OLD.available_copies THEN
+        PERFORM pg_notify('book_availability', NEW.id::text || ':' || current_setting('application_name'));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
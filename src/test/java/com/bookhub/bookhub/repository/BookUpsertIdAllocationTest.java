@@ -0,0 +1,98 @@
+package com.bookhub.bookhub.repository;
+
+import com.bookhub.bookhub.EmbeddedPostgresIntegrationTest;
+import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
+import com.bookhub.bookhub.entity.Book;
+import com.bookhub.bookhub.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk upserts and JPA inserts share book_seq. Writers of both kinds run at once, so ids from the blocks
+ * Hibernate's pooled optimizer hands out and from the upsert's own nextval calls would collide on the
+ * primary key, or show up twice among the books written here, if the two ever overlapped.
+ */
+class BookUpsertIdAllocationTest extends EmbeddedPostgresIntegrationTest {
+    private static final int WRITERS = 16;
+    private static final int BOOKS_PER_WRITER = 120;
+    private static final int UPSERT_BATCH = 40;
+    private static final long FIRST_ISBN = 9786500000000L;
+
+    private static final AtomicLong NEXT_ISBN = new AtomicLong(FIRST_ISBN);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bulkUpsertsAndJpaInsertsNeverShareAnId() throws Exception {
+        bookRepository.upsertAllByIsbn(newBooks(1));
+        bookService.createBook(newRequest());
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int writer = 0; writer < WRITERS; writer++) {
+                boolean bulk = writer % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    for (int written = 0; written < BOOKS_PER_WRITER; written += bulk ? UPSERT_BATCH : 1) {
+                        if (bulk) {
+                            bookRepository.upsertAllByIsbn(newBooks(UPSERT_BATCH));
+                        } else {
+                            bookService.createBook(newRequest());
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        long expected = 2 + (long) WRITERS * BOOKS_PER_WRITER;
+        String written = "FROM book WHERE isbn BETWEEN ? AND ?";
+        Object[] isbns = {Long.toString(FIRST_ISBN), Long.toString(NEXT_ISBN.get() - 1)};
+        assertThat(jdbcTemplate.queryForObject("SELECT count(DISTINCT id) " + written, Long.class, isbns)).isEqualTo(expected);
+        assertThat(jdbcTemplate.queryForObject("SELECT min(id) " + written, Long.class, isbns)).isPositive();
+    }
+
+    private List<Book> newBooks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Book book = new Book();
+                    book.setTitle("Vidas Secas");
+                    book.setAuthor("Graciliano Ramos");
+                    book.setIsbn(Long.toString(NEXT_ISBN.getAndIncrement()));
+                    book.setPublicationYear(1938);
+                    book.setTotalCopies(1);
+                    book.setAvailableCopies(1);
+                    return book;
+                })
+                .toList();
+    }
+
+    private BookCreateRequest newRequest() {
+        BookCreateRequest request = new BookCreateRequest();
+        request.setTitle("São Bernardo");
+        request.setAuthor("Graciliano Ramos");
+        request.setIsbn(Long.toString(NEXT_ISBN.getAndIncrement()));
+        request.setPublicationYear(1934);
+        return request;
+    }
+}
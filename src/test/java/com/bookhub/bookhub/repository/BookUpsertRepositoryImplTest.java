@@ -0,0 +1,48 @@
+package com.bookhub.bookhub.repository;
+
+import com.bookhub.bookhub.EmbeddedPostgresIntegrationTest;
+import com.bookhub.bookhub.entity.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the prod profile's batched insert rewriting, turned on in the shared test properties, under which
+ * pgjdbc reports no per-row counts.
+ */
+class BookUpsertRepositoryImplTest extends EmbeddedPostgresIntegrationTest {
+    private static final AtomicLong NEXT_ISBN = new AtomicLong(9786510000000L);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void upsertAllByIsbnCountsRowsOfARewrittenBatch() {
+        List<Book> books = newBooks(5);
+
+        assertThat(bookRepository.upsertAllByIsbn(books)).isEqualTo(5);
+        assertThat(bookRepository.upsertAllByIsbn(books.subList(0, 2))).isEqualTo(2);
+        assertThat(bookRepository.findByIsbn(books.getFirst().getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTotalCopies()).isEqualTo(2));
+    }
+
+    private List<Book> newBooks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Book book = new Book();
+                    book.setTitle("Memórias Póstumas de Brás Cubas");
+                    book.setAuthor("Machado de Assis");
+                    book.setIsbn(Long.toString(NEXT_ISBN.getAndIncrement()));
+                    book.setPublicationYear(1881);
+                    book.setTotalCopies(1);
+                    book.setAvailableCopies(1);
+                    return book;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,164 @@
+package com.bookhub.bookhub.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN for the SQL behind each BookRepository and LoanRepository query on a seeded, analyzed copy of
+ * the migrated schema and fails when the queried table is read with a sequential scan. The statements mirror
+ * what Hibernate generates for the derived and JPQL queries. Full-table streams (streamAll,
+ * streamAvailability) scan by design and are not listed.
+ */
+class RepositoryQueryPlanTest {
+    private static final int USERS = 20_000;
+    private static final int BOOKS = 50_000;
+    private static final int LOANS = 200_000;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    record PlanCase(String query, String table, String sql) {
+        @Override
+        public String toString() {
+            return query;
+        }
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, email, password, role)
+                SELECT g, 'Reader ' || g, 'reader-' || g || '@bookhub.test', 'password', 'READER'
+                FROM generate_series(1, ?) g
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO book (id, title, author, isbn, publication_year, total_copies, available_copies)
+                SELECT g, (ARRAY['Java', 'History', 'Garcia', 'Clean Code', 'Machado', 'Spring'])[1 + g % 6]
+                              || ' Volume ' || g,
+                       'Author ' || (g % 5000), (9780000000000 + g)::text, 1900 + g % 125, 3, 3
+                FROM generate_series(1, ?) g
+                """, BOOKS);
+        jdbcTemplate.update("""
+                INSERT INTO loan (id, user_id, book_id, loan_date, due_date, return_date, status, renewal_count)
+                SELECT g, 1 + g % ?, 1 + (g * 7) % ?, current_date - 30, current_date - 16 + g % 30,
+                       CASE WHEN g % 10 > 1 THEN current_date - 20 END,
+                       CASE WHEN g % 1000 = 0 THEN 'OVERDUE' WHEN g % 10 <= 1 THEN 'ACTIVE' ELSE 'RETURNED' END,
+                       0
+                FROM generate_series(1, ?) g
+                """, USERS, BOOKS, LOANS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    static Stream<PlanCase> repositoryQueries() {
+        return Stream.of(
+                new PlanCase("BookRepository.findById", "book",
+                        "SELECT * FROM book b WHERE b.id = 4242"),
+                new PlanCase("BookRepository.findByIsbn", "book",
+                        "SELECT * FROM book b WHERE b.isbn = '9780000004242'"),
+                new PlanCase("BookRepository.findByAuthor", "book",
+                        "SELECT * FROM book b WHERE b.author = 'Author 42'"),
+                new PlanCase("BookRepository.findByTitleAndAuthor", "book",
+                        "SELECT * FROM book b WHERE b.title = 'Java Volume 42' AND b.author = 'Author 42'"),
+                new PlanCase("BookRepository.findByPublicationYearGreaterThan", "book",
+                        "SELECT * FROM book b WHERE b.publication_year > 2023"),
+                new PlanCase("BookRepository.countByAuthor", "book",
+                        "SELECT count(b.id) FROM book b WHERE b.author = 'Author 42'"),
+                new PlanCase("BookRepository.existsByIsbn", "book",
+                        "SELECT b.id FROM book b WHERE b.isbn = '9780000004242' FETCH FIRST 1 ROWS ONLY"),
+                new PlanCase("BookRepository.deleteByIsbn", "book",
+                        "SELECT * FROM book b WHERE b.isbn = '9780000004242'"),
+                new PlanCase("BookRepository.findByIdGreaterThanOrderByIdAsc", "book",
+                        "SELECT * FROM book b WHERE b.id > 25000 ORDER BY b.id FETCH FIRST 50 ROWS ONLY"),
+                new PlanCase("BookRepository.findAvailableCopiesById", "book",
+                        "SELECT b.available_copies FROM book b WHERE b.id = 4242"),
+                new PlanCase("BookRepository.findAvailabilityByIdIn", "book",
+                        "SELECT b.id, b.available_copies FROM book b WHERE b.id IN (1, 42, 4242, 42000)"),
+                new PlanCase("BookRepository.decrementAvailableCopies", "book",
+                        "UPDATE book SET available_copies = available_copies - 1 WHERE id = 4242 AND available_copies > 0"),
+                new PlanCase("BookRepository.incrementAvailableCopies", "book",
+                        "UPDATE book SET available_copies = available_copies + 1 WHERE id = 4242 AND available_copies < total_copies"),
+                new PlanCase("BookRepository.adjustCopies", "book",
+                        "UPDATE book SET total_copies = total_copies + 2, available_copies = available_copies + 2 WHERE id = 4242 AND available_copies + 2 >= 0"),
+                new PlanCase("BookRepository.searchCatalog", "book", """
+                        SELECT b.id, b.title, b.author, b.isbn, b.publication_year, b.total_copies, b.available_copies
+                        FROM book b, to_tsquery('simple', '4242:*') q
+                        WHERE b.search_vector @@ q
+                        ORDER BY coalesce(b.isbn = '4242', false) DESC, ts_rank(b.search_vector, q) DESC, b.id
+                        LIMIT 20 OFFSET 0
+                        """),
+                new PlanCase("LoanRepository.findByUserId", "loan",
+                        "SELECT * FROM loan l WHERE l.user_id = 42"),
+                new PlanCase("LoanRepository.findByBookId", "loan",
+                        "SELECT * FROM loan l WHERE l.book_id = 42"),
+                new PlanCase("LoanRepository.findByStatus", "loan",
+                        "SELECT * FROM loan l WHERE l.status = 'OVERDUE'"),
+                new PlanCase("LoanRepository.findByUserIdAndStatus", "loan",
+                        "SELECT * FROM loan l WHERE l.user_id = 42 AND l.status = 'ACTIVE'"),
+                new PlanCase("LoanRepository.countByUserIdAndStatusNot", "loan",
+                        "SELECT count(l.id) FROM loan l WHERE l.user_id = 42 AND l.status <> 'RETURNED'"),
+                new PlanCase("LoanRepository.existsByUserIdAndStatus", "loan",
+                        "SELECT l.id FROM loan l WHERE l.user_id = 42 AND l.status = 'OVERDUE' FETCH FIRST 1 ROWS ONLY"),
+                new PlanCase("LoanRepository.existsByUserIdAndStatusNot", "loan",
+                        "SELECT l.id FROM loan l WHERE l.user_id = 42 AND l.status <> 'RETURNED' FETCH FIRST 1 ROWS ONLY"),
+                new PlanCase("LoanRepository.existsByUserIdAndStatusAndDueDateBefore", "loan", """
+                        SELECT l.id FROM loan l
+                        WHERE l.user_id = 42 AND l.status = 'ACTIVE' AND l.due_date < current_date
+                        FETCH FIRST 1 ROWS ONLY
+                        """),
+                new PlanCase("LoanRepository.existsByBookId", "loan",
+                        "SELECT l.id FROM loan l WHERE l.book_id = 42 FETCH FIRST 1 ROWS ONLY"),
+                new PlanCase("LoanRepository.findAllWithUserAndBookByIdIn", "loan", """
+                        SELECT * FROM loan l JOIN users u ON u.id = l.user_id JOIN book b ON b.id = l.book_id
+                        WHERE l.id IN (1, 42, 4242, 42000)
+                        """),
+                new PlanCase("LoanRepository.findResponsesByStatus", "loan", """
+                        SELECT l.id, u.id, u.name, b.id, b.title, l.loan_date, l.due_date, l.return_date, l.status,
+                               l.renewal_count
+                        FROM loan l JOIN users u ON u.id = l.user_id JOIN book b ON b.id = l.book_id
+                        WHERE l.status = 'OVERDUE'
+                        ORDER BY l.due_date, l.id
+                        """),
+                new PlanCase("LoanRepository.findResponsesByUserIdAndStatusNot", "loan", """
+                        SELECT l.id, u.id, u.name, b.id, b.title, l.loan_date, l.due_date, l.return_date, l.status,
+                               l.renewal_count
+                        FROM loan l JOIN users u ON u.id = l.user_id JOIN book b ON b.id = l.book_id
+                        WHERE u.id = 42 AND l.status <> 'RETURNED'
+                        ORDER BY l.due_date, l.id
+                        """)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryDoesNotScanTheWholeTable(PlanCase planCase) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + planCase.sql(), String.class);
+
+        assertThat(plan)
+                .as("EXPLAIN for %s:%n%s", planCase.query(), String.join(System.lineSeparator(), plan))
+                .noneMatch(line -> line.contains("Seq Scan on " + planCase.table() + " "));
+    }
+}
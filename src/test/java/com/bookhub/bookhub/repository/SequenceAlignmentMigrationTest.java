@@ -0,0 +1,46 @@
+package com.bookhub.bookhub.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rows written before Flyway managed the schema carry ids the V1 sequences know nothing about. After the
+ * remaining migrations run, the next pooled block of every sequence must start above the highest id.
+ */
+class SequenceAlignmentMigrationTest {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Test
+    void sequencesMovePastExistingIds() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            FluentConfiguration flyway = Flyway.configure()
+                    .dataSource(postgres.getPostgresDatabase())
+                    .locations("classpath:db/migration");
+            flyway.target("1").load().migrate();
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+            jdbcTemplate.update("INSERT INTO users (id, name, email, password, role) VALUES (1234, 'Reader', 'r@bookhub.test', 'x', 'READER')");
+            jdbcTemplate.update("INSERT INTO book (id, title, author, total_copies, available_copies) VALUES (777, 'Iracema', 'José de Alencar', 1, 1)");
+            jdbcTemplate.update("""
+                    INSERT INTO loan (id, user_id, book_id, loan_date, due_date, status, renewal_count)
+                    VALUES (99, 1234, 777, current_date, current_date + 14, 'ACTIVE', 0)
+                    """);
+
+            flyway.target("latest").load().migrate();
+
+            assertNextBlockStartsAbove(jdbcTemplate, "users_seq", 1234);
+            assertNextBlockStartsAbove(jdbcTemplate, "book_seq", 777);
+            assertNextBlockStartsAbove(jdbcTemplate, "loan_seq", 99);
+        }
+    }
+
+    private void assertNextBlockStartsAbove(JdbcTemplate jdbcTemplate, String sequence, long maxId) {
+        long hi = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        assertThat(hi - ALLOCATION_SIZE + 1).as(sequence).isGreaterThan(maxId);
+    }
+}
@@ -0,0 +1,156 @@
+package com.bookhub.bookhub.service.availability;
+
+import com.bookhub.bookhub.EmbeddedPostgresIntegrationTest;
+import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanCreateRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanResponse;
+import com.bookhub.bookhub.dto.user.request.UserCreateRequest;
+import com.bookhub.bookhub.service.BookService;
+import com.bookhub.bookhub.service.LoanService;
+import com.bookhub.bookhub.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * The availability table against the shared database: checkouts and returns made through the application
+ * adjust their entry in place, while a change made over another connection reaches it through the
+ * book_availability channel and is reloaded. A read served by the table prepares no statement, which is
+ * what Hibernate's statistics check.
+ */
+class BookAvailabilityServiceTest extends EmbeddedPostgresIntegrationTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private BookAvailabilityService availabilityService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+    }
+
+    @Test
+    void checkoutsAndReturnsAdjustTheEntryWithoutReloadingIt() throws SQLException {
+        Long bookId = newBook(3);
+        awaitCached(bookId, 3);
+
+        LoanResponse loan = loanService.createLoan(loanRequest(registerReader(), bookId));
+        assertThat(cachedCopies(bookId)).isEqualTo(2);
+
+        // Notifications arrive in commit order, so once a later change made elsewhere has been applied,
+        // the notification for the checkout has been handled as well.
+        Long laterBookId = newBook(1);
+        awaitCached(laterBookId, 1);
+        updateOverAnotherConnection(laterBookId, 0);
+        awaitCached(laterBookId, 0);
+        assertThat(cachedCopies(bookId)).isEqualTo(2);
+
+        loanService.returnLoan(loan.getId());
+        assertThat(cachedCopies(bookId)).isEqualTo(3);
+    }
+
+    @Test
+    void changesMadeOverAnotherConnectionAreReloaded() throws SQLException {
+        Long bookId = newBook(3);
+        awaitCached(bookId, 3);
+
+        updateOverAnotherConnection(bookId, 1);
+
+        awaitCached(bookId, 1);
+    }
+
+    private int cachedCopies(Long bookId) {
+        statistics.clear();
+        int copies = availabilityService.getAvailableCopies(bookId).orElseThrow();
+        assertThat(statistics.getPrepareStatementCount()).as("statements to read book %d", bookId).isZero();
+        return copies;
+    }
+
+    // Reads are served from the database until the listener is subscribed and the first rebuild is done.
+    private void awaitCached(Long bookId, int copies) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            statistics.clear();
+            int read = availabilityService.getAvailableCopies(bookId).orElseThrow();
+            if (read == copies && statistics.getPrepareStatementCount() == 0) {
+                return;
+            }
+            sleep();
+        }
+        fail("Book %d was not cached with %d copies within %s", bookId, copies, TIMEOUT);
+    }
+
+    private void updateOverAnotherConnection(Long bookId, int copies) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "postgres", "");
+             PreparedStatement update = connection.prepareStatement("UPDATE book SET available_copies = ? WHERE id = ?")) {
+            update.setInt(1, copies);
+            update.setLong(2, bookId);
+            assertThat(update.executeUpdate()).isEqualTo(1);
+        }
+    }
+
+    private Long newBook(int copies) {
+        BookCreateRequest book = new BookCreateRequest();
+        book.setTitle("Vidas Secas");
+        book.setAuthor("Graciliano Ramos");
+        book.setPublicationYear(1938);
+        book.setTotalCopies(copies);
+        return bookService.createBook(book).getId();
+    }
+
+    private Long registerReader() {
+        UserCreateRequest request = new UserCreateRequest();
+        request.setName("Reader");
+        request.setEmail("reader-" + UUID.randomUUID() + "@bookhub.test");
+        request.setPassword("password");
+        return userService.registerUser(request).getId();
+    }
+
+    private LoanCreateRequest loanRequest(Long userId, Long bookId) {
+        LoanCreateRequest request = new LoanCreateRequest();
+        request.setUserId(userId);
+        request.setBookId(bookId);
+        return request;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
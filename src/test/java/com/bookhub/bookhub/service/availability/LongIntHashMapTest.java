@@ -0,0 +1,173 @@
+package com.bookhub.bookhub.service.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntHashMapTest {
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    @Test
+    void collidingKeysAreAllRetrievable() {
+        List<Long> keys = collidingKeys(6);
+        LongIntHashMap map = new LongIntHashMap(0);
+
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+
+        assertThat(map.size()).isEqualTo(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(map.get(keys.get(i), MISSING)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void removingTheHeadOfAProbeChainKeepsTheRestReachable() {
+        List<Long> keys = collidingKeys(6);
+        LongIntHashMap map = new LongIntHashMap(0);
+        keys.forEach(key -> map.put(key, key.intValue()));
+
+        map.remove(keys.get(0));
+        map.remove(keys.get(3));
+
+        assertThat(map.size()).isEqualTo(4);
+        assertThat(map.get(keys.get(0), MISSING)).isEqualTo(MISSING);
+        assertThat(map.get(keys.get(3), MISSING)).isEqualTo(MISSING);
+        for (int i : new int[]{1, 2, 4, 5}) {
+            assertThat(map.get(keys.get(i), MISSING)).isEqualTo(keys.get(i).intValue());
+        }
+    }
+
+    @Test
+    void removingAKeyThatWrapsAroundTheTableKeepsItsNeighboursReachable() {
+        LongIntHashMap map = new LongIntHashMap(0);
+        List<Long> lastSlot = keysWithHome(15, 3);
+        List<Long> firstSlot = keysWithHome(0, 1);
+        lastSlot.forEach(key -> map.put(key, 1));
+        firstSlot.forEach(key -> map.put(key, 2));
+
+        map.remove(lastSlot.get(0));
+
+        assertThat(map.get(lastSlot.get(1), MISSING)).isEqualTo(1);
+        assertThat(map.get(lastSlot.get(2), MISSING)).isEqualTo(1);
+        assertThat(map.get(firstSlot.get(0), MISSING)).isEqualTo(2);
+    }
+
+    @Test
+    void removingAMissingKeyIsANoOp() {
+        LongIntHashMap map = new LongIntHashMap(0);
+        map.put(1L, 10);
+
+        map.remove(2L);
+
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get(1L, MISSING)).isEqualTo(10);
+    }
+
+    @Test
+    void growsPastItsInitialCapacityWithoutLosingEntries() {
+        LongIntHashMap map = new LongIntHashMap(0);
+
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, (int) key * 3);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key, MISSING)).isEqualTo((int) key * 3);
+        }
+        assertThat(map.get(10_001L, MISSING)).isEqualTo(MISSING);
+    }
+
+    @Test
+    void putOverwritesWithoutChangingTheSize() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        map.put(42L, 1);
+
+        map.put(42L, 7);
+
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get(42L, MISSING)).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsNonPositiveKeys() {
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        assertThatThrownBy(() -> map.put(0L, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.put(-5L, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void addIfPresentOnlyAdjustsExistingEntriesAndKeepsNegativeResults() {
+        List<Long> keys = collidingKeys(3);
+        LongIntHashMap map = new LongIntHashMap(0);
+        map.put(keys.get(0), 2);
+        map.put(keys.get(1), 5);
+
+        assertThat(map.addIfPresent(keys.get(1), -1)).isTrue();
+        assertThat(map.addIfPresent(keys.get(0), -3)).isTrue();
+        assertThat(map.addIfPresent(keys.get(2), 1)).isFalse();
+
+        assertThat(map.get(keys.get(1), MISSING)).isEqualTo(4);
+        assertThat(map.get(keys.get(0), MISSING)).isEqualTo(-1);
+        assertThat(map.get(keys.get(2), MISSING)).isEqualTo(MISSING);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap(0);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            int value = random.nextInt(100);
+
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 2 -> {
+                    map.remove(key);
+                    expected.remove(key);
+                }
+                default -> {
+                    boolean present = map.addIfPresent(key, value - 50);
+                    assertThat(present).isEqualTo(expected.containsKey(key));
+                    expected.computeIfPresent(key, (k, copies) -> copies + value - 50);
+                }
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 2_000; key++) {
+            assertThat(map.get(key, MISSING)).isEqualTo(expected.getOrDefault(key, MISSING));
+        }
+    }
+
+    // Keys sharing a home slot in the minimum 16-slot table, so they form a single probe chain.
+    private static List<Long> collidingKeys(int count) {
+        return keysWithHome(LongIntHashMap.mix(1L) & 15, count);
+    }
+
+    private static List<Long> keysWithHome(int home, int count) {
+        List<Long> keys = new ArrayList<>(count);
+        for (long key = 1; keys.size() < count; key++) {
+            if ((LongIntHashMap.mix(key) & 15) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
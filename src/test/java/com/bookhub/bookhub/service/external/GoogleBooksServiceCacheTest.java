@@ -0,0 +1,141 @@
+package com.bookhub.bookhub.service.external;
+
+import com.bookhub.bookhub.dto.google.GoogleBookItemResponse;
+import com.bookhub.bookhub.factory.BookFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GoogleBooksServiceCacheTest {
+    private static final String VOLUME_JSON =
+            "{\"id\":\"zyTCAlFPjgYC\",\"volumeInfo\":{\"title\":\"Clean Code\",\"authors\":[\"Robert C. Martin\"]}}";
+
+    private final AtomicInteger searchRequests = new AtomicInteger();
+    private final AtomicInteger volumeRequests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private GoogleBooksService googleBooksService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/volumes", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        GoogleBooksClient client = new GoogleBooksClient(new RestTemplate(),
+                CircuitBreaker.ofDefaults("test"), Retry.ofDefaults("test"));
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "baseUrl", "http://localhost:" + server.getAddress().getPort());
+
+        googleBooksService = new GoogleBooksService(
+                client, null, new BookFactory(), null, JsonMapper.builder().build(), new SimpleMeterRegistry(), null, null
+        );
+        ReflectionTestUtils.setField(googleBooksService, "cacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(googleBooksService, "cacheTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(googleBooksService, "cacheRefreshAfter", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(googleBooksService, "persistentCacheEnabled", false);
+        ReflectionTestUtils.setField(googleBooksService, "persistentCacheTtl", Duration.ofDays(1));
+        googleBooksService.initCaches();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void equivalentSearchQueriesHitGoogleOnce() {
+        List<GoogleBookItemResponse> first = googleBooksService.searchBooks("Clean Code", 10);
+        List<GoogleBookItemResponse> second = googleBooksService.searchBooks("  clean   CODE ", 10);
+
+        assertThat(first).hasSize(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(searchRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void searchesWithDifferentMaxResultsAreCachedSeparately() {
+        googleBooksService.searchBooks("clean code", 10);
+        googleBooksService.searchBooks("clean code", 20);
+
+        assertThat(searchRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentLookupsOfTheSameVolumeAreCoalesced() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<GoogleBookItemResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(callers.submit(() -> googleBooksService.getBookById("zyTCAlFPjgYC")));
+            }
+
+            for (Future<GoogleBookItemResponse> future : futures) {
+                assertThat(future.get().getVolumeInfo().getTitle()).isEqualTo("Clean Code");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        googleBooksService.getBookById("zyTCAlFPjgYC");
+
+        assertThat(volumeRequests.get()).isEqualTo(1);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body;
+
+        if (path.equals("/volumes")) {
+            searchRequests.incrementAndGet();
+            body = "{\"items\":[" + VOLUME_JSON + "]}";
+        } else {
+            volumeRequests.incrementAndGet();
+            sleep(Duration.ofMillis(200));
+            body = VOLUME_JSON;
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
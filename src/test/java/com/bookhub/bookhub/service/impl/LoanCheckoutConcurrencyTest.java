@@ -0,0 +1,168 @@
+package com.bookhub.bookhub.service.impl;
+
+import com.bookhub.bookhub.EmbeddedPostgresIntegrationTest;
+import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanCreateRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanResponse;
+import com.bookhub.bookhub.service.BookService;
+import com.bookhub.bookhub.service.LoanService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races 10k checkouts of a 5-copy book against its conditional decrement and then returns every loan at
+ * once against the conditional increment. A sampler reads available_copies throughout, so a transient
+ * oversell that a later statement happens to repair still fails the test. Tasks hold a permit per pooled
+ * connection, so they contend for the book row rather than time out waiting for a connection.
+ */
+class LoanCheckoutConcurrencyTest extends EmbeddedPostgresIntegrationTest {
+    private static final int CHECKOUTS = 10_000;
+    private static final int COPIES = 5;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void concurrentCheckoutsNeverOversellAndReturnsNeverOverfill() throws Exception {
+        Long bookId = createBook();
+        List<Long> readers = insertReaders();
+
+        try (CopiesSampler sampler = new CopiesSampler(bookId)) {
+            Queue<LoanResponse> loans = new ConcurrentLinkedQueue<>();
+            int failures = runConcurrently(readers, readerId -> {
+                LoanCreateRequest request = new LoanCreateRequest();
+                request.setUserId(readerId);
+                request.setBookId(bookId);
+                loans.add(loanService.createLoan(request));
+            });
+
+            assertThat(loans).hasSize(COPIES);
+            assertThat(failures).isEqualTo(CHECKOUTS - COPIES);
+            assertThat(availableCopies(bookId)).isZero();
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM loan WHERE book_id = ? AND status = 'ACTIVE'", Integer.class, bookId))
+                    .isEqualTo(COPIES);
+
+            int returnFailures = runConcurrently(loans.stream().map(LoanResponse::getId).toList(), loanService::returnLoan);
+
+            assertThat(returnFailures).isZero();
+            assertThat(availableCopies(bookId)).isEqualTo(COPIES);
+
+            sampler.stop();
+            assertThat(sampler.min.get()).isGreaterThanOrEqualTo(0);
+            assertThat(sampler.max.get()).isLessThanOrEqualTo(COPIES);
+        }
+    }
+
+    // The sampler keeps one pooled connection busy, so the tasks get the rest.
+    private <T> int runConcurrently(List<T> inputs, Consumer<T> task) throws SQLException {
+        Semaphore connections = new Semaphore(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() - 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(inputs.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    connections.acquire();
+                    try {
+                        task.accept(input);
+                    } finally {
+                        connections.release();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+
+        int failures = 0;
+        for (Future<?> future : futures) {
+            if (future.state() == Future.State.FAILED) {
+                assertThat(future.exceptionNow()).isInstanceOf(IllegalStateException.class);
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private Long createBook() {
+        BookCreateRequest book = new BookCreateRequest();
+        book.setTitle("Grande Sertão: Veredas");
+        book.setAuthor("João Guimarães Rosa");
+        book.setPublicationYear(1956);
+        book.setTotalCopies(COPIES);
+        return bookService.createBook(book).getId();
+    }
+
+    // Ids come from users_seq so they never collide with the blocks Hibernate's pooled optimizer hands out.
+    private List<Long> insertReaders() {
+        String prefix = UUID.randomUUID().toString();
+        return jdbcTemplate.queryForList("""
+                INSERT INTO users (id, name, email, password, role)
+                SELECT nextval('users_seq'), 'Reader ' || g, ? || '-' || g || '@bookhub.test', 'password', 'READER'
+                FROM generate_series(1, ?) g
+                RETURNING id
+                """, Long.class, prefix, CHECKOUTS);
+    }
+
+    private int availableCopies(Long bookId) {
+        return jdbcTemplate.queryForObject("SELECT available_copies FROM book WHERE id = ?", Integer.class, bookId);
+    }
+
+    private final class CopiesSampler implements AutoCloseable {
+        private final AtomicInteger min = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicInteger max = new AtomicInteger(Integer.MIN_VALUE);
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final Thread thread;
+
+        private CopiesSampler(Long bookId) {
+            thread = Thread.ofPlatform().name("available-copies-sampler").start(() -> {
+                while (running.get()) {
+                    int copies = availableCopies(bookId);
+                    min.accumulateAndGet(copies, Math::min);
+                    max.accumulateAndGet(copies, Math::max);
+                }
+            });
+        }
+
+        private void stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            stop();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.bookhub.bookhub.service.impl;
+
+import com.bookhub.bookhub.EmbeddedPostgresIntegrationTest;
+import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanBatchCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanBatchReturnRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanBatchResponse;
+import com.bookhub.bookhub.dto.loan.response.LoanResponse;
+import com.bookhub.bookhub.dto.user.request.UserCreateRequest;
+import com.bookhub.bookhub.service.BookService;
+import com.bookhub.bookhub.service.LoanService;
+import com.bookhub.bookhub.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The batch loan endpoints must cost one conditional UPDATE per book plus a fixed number of statements,
+ * whatever the batch size, and the loan listings a fixed number whatever the number of loans. Counts come
+ * from Hibernate's statistics (turned on in the shared test properties), which see every statement the
+ * service prepares through the EntityManager. Readers, books and loans are set up before each measurement.
+ */
+class LoanServiceImplTest extends EmbeddedPostgresIntegrationTest {
+    private static final int BATCH = 5;
+    private static final int LISTED_LOANS = 1_000;
+    private static final int LOAN_SEQ_INCREMENT = 50;
+
+    // user lookup, two overdue checks, open-loan count, book fetch and the batched insert
+    private static final int CREATE_FIXED_STATEMENTS = 6;
+
+    // loan fetch with user and book, and the batched status update
+    private static final int RETURN_FIXED_STATEMENTS = 2;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+    }
+
+    @Test
+    void createLoansIssuesOneStatementPerBookPlusAFixedCost() {
+        LoanBatchCreateRequest singleRequest = createRequest(registerReader(), newBooks(1));
+        LoanBatchCreateRequest batchRequest = createRequest(registerReader(), newBooks(BATCH));
+
+        long single = preparedStatements(() -> loanService.createLoans(singleRequest));
+        long batch = preparedStatements(() -> loanService.createLoans(batchRequest));
+
+        assertThat(batch - single).isEqualTo(BATCH - 1);
+        assertThat(batch).isEqualTo(BATCH + CREATE_FIXED_STATEMENTS);
+    }
+
+    @Test
+    void returnLoansIssuesOneStatementPerLoanPlusAFixedCost() {
+        LoanBatchReturnRequest single = returnRequest(loanService.createLoans(createRequest(registerReader(), newBooks(1))));
+        LoanBatchReturnRequest batch = returnRequest(loanService.createLoans(createRequest(registerReader(), newBooks(BATCH))));
+
+        long singleStatements = preparedStatements(() -> loanService.returnLoans(single));
+        long batchStatements = preparedStatements(() -> loanService.returnLoans(batch));
+
+        assertThat(batchStatements - singleStatements).isEqualTo(BATCH - 1);
+        assertThat(batchStatements).isEqualTo(BATCH + RETURN_FIXED_STATEMENTS);
+    }
+
+    @Test
+    void overdueListingIssuesTheSameStatementsForOneOrAThousandLoans() {
+        Long bookId = newBooks(1).getFirst();
+        insertLoans(registerReader(), bookId, "OVERDUE", 1);
+        long one = listingStatements(() -> loanService.getOverdueLoans());
+
+        insertLoans(registerReader(), bookId, "OVERDUE", LISTED_LOANS - 1);
+        List<LoanResponse> listed = new ArrayList<>();
+        long thousand = listingStatements(() -> listed.addAll(loanService.getOverdueLoans()));
+
+        assertThat(listed).hasSizeGreaterThanOrEqualTo(LISTED_LOANS);
+        assertThat(thousand).isEqualTo(one);
+    }
+
+    @Test
+    void activeLoanListingIssuesTheSameStatementsForOneOrAThousandLoans() {
+        Long bookId = newBooks(1).getFirst();
+        Long oneLoanReader = registerReader();
+        Long thousandLoanReader = registerReader();
+        insertLoans(oneLoanReader, bookId, "ACTIVE", 1);
+        insertLoans(thousandLoanReader, bookId, "ACTIVE", LISTED_LOANS / 2);
+        insertLoans(thousandLoanReader, bookId, "OVERDUE", LISTED_LOANS / 2);
+
+        long one = listingStatements(() -> loanService.getActiveLoansByUser(oneLoanReader));
+        List<LoanResponse> listed = new ArrayList<>();
+        long thousand = listingStatements(() -> listed.addAll(loanService.getActiveLoansByUser(thousandLoanReader)));
+
+        assertThat(listed).hasSize(LISTED_LOANS);
+        assertThat(thousand).isEqualTo(one);
+    }
+
+    private long preparedStatements(Supplier<LoanBatchResponse> call) {
+        return listingStatements(() -> assertThat(call.get().getFailed()).isZero());
+    }
+
+    // Hibernate's pooled optimizer calls nextval('loan_seq') only when its block of ids runs out, so whether
+    // a measurement includes that call depends on what ran before it. Each call moves the sequence by one
+    // increment, which is how they are found and left out of the count.
+    private long listingStatements(Runnable call) {
+        long sequenceBefore = loanSequenceValue();
+        statistics.clear();
+        call.run();
+        long prepared = statistics.getPrepareStatementCount();
+
+        return prepared - (loanSequenceValue() - sequenceBefore) / LOAN_SEQ_INCREMENT;
+    }
+
+    private long loanSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM loan_seq", Long.class);
+    }
+
+    // Ids come from loan_seq so they never collide with the blocks Hibernate's pooled optimizer hands out.
+    private void insertLoans(Long userId, Long bookId, String status, int count) {
+        jdbcTemplate.update("""
+                INSERT INTO loan (id, user_id, book_id, loan_date, due_date, status, renewal_count)
+                SELECT nextval('loan_seq'), ?, ?, current_date - 20, current_date + g % 30 - 10, ?, 0
+                FROM generate_series(1, ?) g
+                """, userId, bookId, status, count);
+    }
+
+    private LoanBatchCreateRequest createRequest(Long userId, List<Long> bookIds) {
+        LoanBatchCreateRequest request = new LoanBatchCreateRequest();
+        request.setUserId(userId);
+        request.setBookIds(bookIds);
+        return request;
+    }
+
+    private LoanBatchReturnRequest returnRequest(LoanBatchResponse created) {
+        LoanBatchReturnRequest request = new LoanBatchReturnRequest();
+        request.setLoanIds(created.getResults().stream().map(result -> result.getLoan().getId()).toList());
+        return request;
+    }
+
+    private Long registerReader() {
+        UserCreateRequest request = new UserCreateRequest();
+        request.setName("Reader");
+        request.setEmail("reader-" + UUID.randomUUID() + "@bookhub.test");
+        request.setPassword("password");
+        return userService.registerUser(request).getId();
+    }
+
+    private List<Long> newBooks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    BookCreateRequest book = new BookCreateRequest();
+                    book.setTitle("Memórias Póstumas de Brás Cubas " + i);
+                    book.setAuthor("Machado de Assis");
+                    book.setPublicationYear(1881);
+                    book.setTotalCopies(1);
+                    return bookService.createBook(book).getId();
+                })
+                .toList();
+    }
+}
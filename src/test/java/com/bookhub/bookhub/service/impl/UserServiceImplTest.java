@@ -0,0 +1,133 @@
+package com.bookhub.bookhub.service.impl;
+
+import com.bookhub.bookhub.EmbeddedPostgresIntegrationTest;
+import com.bookhub.bookhub.dto.book.request.BookCreateRequest;
+import com.bookhub.bookhub.dto.loan.request.LoanCreateRequest;
+import com.bookhub.bookhub.dto.loan.response.LoanResponse;
+import com.bookhub.bookhub.dto.user.request.UserCreateRequest;
+import com.bookhub.bookhub.entity.Loan;
+import com.bookhub.bookhub.entity.User;
+import com.bookhub.bookhub.repository.UserRepository;
+import com.bookhub.bookhub.service.BookService;
+import com.bookhub.bookhub.service.LoanService;
+import com.bookhub.bookhub.service.UserService;
+import com.bookhub.bookhub.service.security.TokenValidityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserServiceImplTest extends EmbeddedPostgresIntegrationTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deleteUserIsRejectedWhileALoanIsOverdue() {
+        Long userId = registerReader();
+        LoanResponse loan = borrowNewBook(userId);
+        jdbcTemplate.update("UPDATE loan SET status = 'OVERDUE', due_date = current_date - 1 WHERE id = ?", loan.getId());
+
+        assertThatThrownBy(() -> userService.deleteUser(userId))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(userService.getUserById(userId)).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM loan WHERE id = ?", String.class, loan.getId()))
+                .isEqualTo(Loan.LoanStatus.OVERDUE.name());
+    }
+
+    @Test
+    void deleteUserIsRejectedWhileALoanIsActive() {
+        Long userId = registerReader();
+        borrowNewBook(userId);
+
+        assertThatThrownBy(() -> userService.deleteUser(userId))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void deleteUserSucceedsOnceEveryLoanIsReturned() {
+        Long userId = registerReader();
+        LoanResponse loan = borrowNewBook(userId);
+        loanService.returnLoan(loan.getId());
+
+        userService.deleteUser(userId);
+
+        assertThat(userService.getUserById(userId)).isEmpty();
+    }
+
+    @Test
+    void activeLoansIncludeOverdueOnes() {
+        Long userId = registerReader();
+        LoanResponse active = borrowNewBook(userId);
+        LoanResponse overdue = borrowNewBook(userId);
+        jdbcTemplate.update("UPDATE loan SET status = 'OVERDUE', due_date = current_date - 1 WHERE id = ?", overdue.getId());
+
+        assertThat(loanService.getActiveLoansByUser(userId))
+                .extracting(LoanResponse::getId)
+                .containsExactlyInAnyOrder(active.getId(), overdue.getId());
+    }
+
+    @Test
+    void roleChangeInvalidatesEarlierTokensOnEveryInstance() {
+        Long userId = registerReader();
+        String email = userService.getUserById(userId).orElseThrow().getEmail();
+        TokenValidityService otherInstance = new TokenValidityService(userRepository, 100, Duration.ZERO);
+        Instant issuedBefore = Instant.now().minusSeconds(2);
+        assertThat(otherInstance.isValid(email, issuedBefore)).isTrue();
+
+        userService.changeUserRole(userId, User.Role.LIBRARIAN);
+
+        assertThat(otherInstance.isValid(email, issuedBefore)).isFalse();
+        assertThat(otherInstance.isValid(email, Instant.now().plusSeconds(1))).isTrue();
+    }
+
+    @Test
+    void tokensOfADeletedUserAreRejected() {
+        Long userId = registerReader();
+        String email = userService.getUserById(userId).orElseThrow().getEmail();
+        TokenValidityService otherInstance = new TokenValidityService(userRepository, 100, Duration.ZERO);
+
+        userService.deleteUser(userId);
+
+        assertThat(otherInstance.isValid(email, Instant.now())).isFalse();
+    }
+
+    private Long registerReader() {
+        UserCreateRequest request = new UserCreateRequest();
+        request.setName("Reader");
+        request.setEmail("reader-" + UUID.randomUUID() + "@bookhub.test");
+        request.setPassword("password");
+        return userService.registerUser(request).getId();
+    }
+
+    private LoanResponse borrowNewBook(Long userId) {
+        BookCreateRequest book = new BookCreateRequest();
+        book.setTitle("Dom Casmurro");
+        book.setAuthor("Machado de Assis");
+        book.setPublicationYear(1899);
+        book.setTotalCopies(1);
+
+        LoanCreateRequest loan = new LoanCreateRequest();
+        loan.setUserId(userId);
+        loan.setBookId(bookService.createBook(book).getId());
+        return loanService.createLoan(loan);
+    }
+}